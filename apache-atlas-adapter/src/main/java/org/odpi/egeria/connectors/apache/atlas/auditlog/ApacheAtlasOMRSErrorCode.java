@@ -31,6 +31,10 @@ public enum ApacheAtlasOMRSErrorCode implements ExceptionMessageSet {
             "The Apache Atlas system was unable to process the search \"{0}\"",
             "The system was unable to run the search against Apache Atlas via REST API.",
             "Check the system logs and diagnose or report the problem."),
+    ENTITY_RETRIEVAL_FAILED(500, "OMRS-ATLAS-REPOSITORY-500-003 ",
+            "The entity identified with guid {0} could not be retrieved by the {1} call to repository {2}",
+            "The system was unable to complete the concurrent retrieval of the entity from Apache Atlas.",
+            "Check the system logs and diagnose or report the problem."),
     REGEX_NOT_IMPLEMENTED(501, "OMRS-ATLAS-REPOSITORY-501-001 ",
             "Repository {0} is not able to support the regular expression \"{1}\"",
             "This repository has a fixed subset of regular expressions it can support.",
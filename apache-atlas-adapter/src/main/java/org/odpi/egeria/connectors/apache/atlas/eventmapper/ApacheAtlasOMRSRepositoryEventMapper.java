@@ -18,6 +18,7 @@ import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.ApacheAtlasOM
 import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.mapping.EntityMappingAtlas2OMRS;
 import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.mapping.RelationshipMapping;
 import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model.AtlasGuid;
+import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model.EntityRetrievalProfile;
 import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.stores.TypeDefStore;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicListener;
@@ -173,26 +174,31 @@ public class ApacheAtlasOMRSRepositoryEventMapper extends OMRSRepositoryEventMap
 
             switch(entityNotification.getOperationType()) {
                 case ENTITY_CREATE:
+                    // The GUID may have been probed (and remembered as not known) before the entity was created
+                    invalidateCachedEntity(entityNotification.getEntity());
                     processNewEntity(entityNotification.getEntity());
                     break;
                 case ENTITY_UPDATE:
+                    invalidateCachedEntity(entityNotification.getEntity());
                     processUpdatedEntity(entityNotification.getEntity());
                     break;
-                /*case ENTITY_DELETE:
-                    break;
+                case ENTITY_DELETE:
                 case CLASSIFICATION_ADD:
-                    break;
                 case CLASSIFICATION_UPDATE:
-                    break;
                 case CLASSIFICATION_DELETE:
-                    break;*/
+                    // These operations only ensure that any cached copies of the entity are no longer used
+                    invalidateCachedEntity(entityNotification.getEntity());
+                    break;
                 case RELATIONSHIP_CREATE:
+                    invalidateCachedRelationshipEnds(entityNotification.getRelationship());
                     processNewRelationship(entityNotification.getRelationship());
                     break;
-                /*case RELATIONSHIP_UPDATE:
-                    break;
+                case RELATIONSHIP_UPDATE:
                 case RELATIONSHIP_DELETE:
-                    break;*/
+                    // These operations only ensure that any cached copies of the entities at either end of the
+                    // relationship (which include their relationships) are no longer used
+                    invalidateCachedRelationshipEnds(entityNotification.getRelationship());
+                    break;
                 default:
                     log.warn("Unrecognized operation type from Apache Atlas: {}", event);
                     break;
@@ -204,6 +210,38 @@ public class ApacheAtlasOMRSRepositoryEventMapper extends OMRSRepositoryEventMap
 
     }
 
+    /**
+     * Ensure that any cached copies of the provided Apache Atlas entity (and any remembered search results that could
+     * include it) are no longer used.
+     *
+     * @param atlasEntityHeader the Apache Atlas entity that has changed
+     */
+    private void invalidateCachedEntity(AtlasEntityHeader atlasEntityHeader) {
+        if (atlasEntityHeader != null) {
+            atlasRepositoryConnector.invalidateCachedEntity(atlasEntityHeader.getGuid());
+            if (atlasMetadataCollection != null) {
+                atlasMetadataCollection.invalidateCachedQueryResults(atlasEntityHeader.getTypeName());
+            }
+        }
+    }
+
+    /**
+     * Ensure that any cached copies of the Apache Atlas entities at either end of the provided relationship are no
+     * longer used, as they include (and would otherwise continue to report) the entities' previous relationships.
+     *
+     * @param atlasRelationshipHeader the Apache Atlas relationship that has changed
+     */
+    private void invalidateCachedRelationshipEnds(AtlasRelationshipHeader atlasRelationshipHeader) {
+        if (atlasRelationshipHeader != null) {
+            if (atlasRelationshipHeader.getEnd1() != null) {
+                atlasRepositoryConnector.invalidateCachedEntity(atlasRelationshipHeader.getEnd1().getGuid());
+            }
+            if (atlasRelationshipHeader.getEnd2() != null) {
+                atlasRepositoryConnector.invalidateCachedEntity(atlasRelationshipHeader.getEnd2().getGuid());
+            }
+        }
+    }
+
     /**
      * Processes and sends an OMRS event for the new Apache Atlas entity.
      *
@@ -329,7 +367,7 @@ public class ApacheAtlasOMRSRepositoryEventMapper extends OMRSRepositoryEventMap
         EntityDetail result = null;
         AtlasEntity.AtlasEntityWithExtInfo atlasEntity = null;
         try {
-            atlasEntity = atlasRepositoryConnector.getEntityByGUID(atlasEntityHeader.getGuid(), false, true);
+            atlasEntity = atlasRepositoryConnector.getEntityByGUID(atlasEntityHeader.getGuid(), EntityRetrievalProfile.ENTITY);
         } catch (AtlasServiceException e) {
             log.error("Unable to retrieve entity from Atlas: {}", atlasEntityHeader, e);
         }
@@ -4,13 +4,21 @@ package org.odpi.egeria.connectors.apache.atlas.repositoryconnector;
 
 import org.apache.atlas.AtlasServiceException;
 import org.apache.atlas.model.discovery.AtlasSearchResult;
+import org.apache.atlas.model.discovery.QuickSearchParameters;
 import org.apache.atlas.model.discovery.SearchParameters;
 import org.apache.atlas.model.instance.*;
 import org.odpi.egeria.connectors.apache.atlas.auditlog.ApacheAtlasOMRSErrorCode;
 import org.odpi.egeria.connectors.apache.atlas.eventmapper.ApacheAtlasOMRSRepositoryEventMapper;
 import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.mapping.*;
 import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model.AtlasGuid;
+import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model.CachedQueryResult;
+import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model.DSLQueryTemplate;
+import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model.EntityLookupContext;
+import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model.EntityRetrievalProfile;
+import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model.PagingSession;
+import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model.SearchMapping;
 import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.stores.AttributeTypeDefStore;
+import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.stores.ExpiringCache;
 import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.stores.TypeDefStore;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
@@ -25,11 +33,27 @@ import org.slf4j.LoggerFactory;
 
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBase {
 
     private static final Logger log = LoggerFactory.getLogger(ApacheAtlasOMRSMetadataCollection.class);
 
+    private static final long MAPPED_ENTITY_CACHE_TTL = 10 * 60 * 1000L;
+    private static final long SEARCH_CONTINUATION_TTL = 5 * 60 * 1000L;
+    private static final int DSL_QUERY_TEMPLATE_CACHE_SIZE = 200;
+    private static final long DSL_QUERY_TEMPLATE_TTL = 60 * 60 * 1000L;
+    private static final double DEFAULT_POST_FILTER_SELECTIVITY = 0.5;
+    private static final int MAX_POST_FILTER_FETCH_SIZE = 1000;
+    private static final int STREAMED_SEARCH_PAGE_SIZE = 500;
+    private static final long PAGING_SESSION_TTL = 5 * 60 * 1000L;
+    private static final int MAX_PAGING_SESSION_SIZE = 5000;
+
     private final SimpleDateFormat atlasDateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
     private ApacheAtlasOMRSRepositoryConnector atlasRepositoryConnector;
     private TypeDefStore typeDefStore;
@@ -37,6 +61,17 @@ public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBas
     private Set<InstanceStatus> availableStates;
     private ApacheAtlasOMRSRepositoryEventMapper eventMapper = null;
 
+    private ExpiringCache<AtlasGuid, EntityDetail> mappedDetailCache;
+    private ExpiringCache<AtlasGuid, EntitySummary> mappedSummaryCache;
+    private volatile long mappedCacheTypeDefChangeCount;
+    private ExpiringCache<String, int[]> searchContinuations;
+    private Map<String, List<SearchMapping>> searchPlans;
+    private ExpiringCache<String, List<DSLQueryTemplate>> dslQueryTemplates;
+    private volatile long searchPlanTypeDefChangeCount;
+    private ExpiringCache<String, CachedQueryResult> queryResults;
+    private ExpiringCache<String, PagingSession> pagingSessions;
+    private final AtomicLong queryResultInvalidations = new AtomicLong(0);
+
     /**
      * @param parentConnector      connector that this metadata collection supports.
      *                             The connector has the information to call the metadata repository.
@@ -59,6 +94,15 @@ public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBas
         this.availableStates = new HashSet<>();
         availableStates.add(InstanceStatus.ACTIVE);
         availableStates.add(InstanceStatus.DELETED);
+        this.mappedDetailCache = new ExpiringCache<>(parentConnector.getMappedEntityCacheSize(), MAPPED_ENTITY_CACHE_TTL);
+        this.mappedSummaryCache = new ExpiringCache<>(parentConnector.getMappedEntityCacheSize(), MAPPED_ENTITY_CACHE_TTL);
+        this.mappedCacheTypeDefChangeCount = typeDefStore.getChangeCount();
+        this.searchContinuations = new ExpiringCache<>(parentConnector.getSearchContinuationCacheSize(), SEARCH_CONTINUATION_TTL);
+        this.searchPlans = new ConcurrentHashMap<>();
+        this.dslQueryTemplates = new ExpiringCache<>(DSL_QUERY_TEMPLATE_CACHE_SIZE, DSL_QUERY_TEMPLATE_TTL);
+        this.searchPlanTypeDefChangeCount = typeDefStore.getChangeCount();
+        this.queryResults = new ExpiringCache<>(parentConnector.getQueryResultCacheSize(), parentConnector.getQueryResultCacheTTL() * 1000L);
+        this.pagingSessions = new ExpiringCache<>(parentConnector.getPagingSessionCacheSize(), PAGING_SESSION_TTL);
     }
 
     /**
@@ -677,11 +721,14 @@ public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBas
         final String methodName = "isEntityKnown";
         super.getInstanceParameterValidation(userId, guid, methodName);
 
+        // Guid cannot be null here, as validation above ensures it is non-null
+        AtlasGuid atlasGuid = AtlasGuid.fromGuid(guid);
         EntityDetail detail = null;
         try {
-            detail = getEntityDetail(userId, guid);
+            AtlasEntity.AtlasEntityWithExtInfo entity = getAtlasEntitySafe(atlasGuid.getAtlasGuid(), EntityRetrievalProfile.ENTITY, methodName);
+            detail = getMappedEntityDetail(atlasGuid, entity, userId);
         } catch (EntityNotKnownException e) {
-            log.info("Entity {} not known to the repository, or only a proxy.", guid, e);
+            log.debug("Entity {} not known to the repository, or only a proxy.", guid, e);
         }
         return detail;
 
@@ -702,10 +749,8 @@ public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBas
 
         // Guid cannot be null here, as validation above ensures it is non-null
         AtlasGuid atlasGuid = AtlasGuid.fromGuid(guid);
-        String prefix = atlasGuid.getGeneratedPrefix();
-        AtlasEntity.AtlasEntityWithExtInfo entity = getAtlasEntitySafe(atlasGuid.getAtlasGuid(), methodName);
-        EntityMappingAtlas2OMRS mapping = new EntityMappingAtlas2OMRS(atlasRepositoryConnector, typeDefStore, attributeTypeDefStore, entity, prefix, userId);
-        return mapping.getEntitySummary();
+        AtlasEntity.AtlasEntityWithExtInfo entity = getAtlasEntitySafe(atlasGuid.getAtlasGuid(), EntityRetrievalProfile.ENTITY, methodName);
+        return getMappedEntitySummary(atlasGuid, entity, userId);
 
     }
 
@@ -724,10 +769,8 @@ public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBas
 
         // Guid cannot be null here, as validation above ensures it is non-null
         AtlasGuid atlasGuid = AtlasGuid.fromGuid(guid);
-        String prefix = atlasGuid.getGeneratedPrefix();
-        AtlasEntity.AtlasEntityWithExtInfo entity = getAtlasEntitySafe(atlasGuid.getAtlasGuid(), methodName);
-        EntityMappingAtlas2OMRS mapping = new EntityMappingAtlas2OMRS(atlasRepositoryConnector, typeDefStore, attributeTypeDefStore, entity, prefix, userId);
-        return mapping.getEntityDetail();
+        AtlasEntity.AtlasEntityWithExtInfo entity = getAtlasEntitySafe(atlasGuid.getAtlasGuid(), EntityRetrievalProfile.ENTITY, methodName);
+        return getMappedEntityDetail(atlasGuid, entity, userId);
 
     }
 
@@ -780,10 +823,12 @@ public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBas
             AtlasGuid atlasGuid = AtlasGuid.fromGuid(entityGUID);
             String prefix = atlasGuid.getGeneratedPrefix();
 
-            // 1. retrieve entity from Apache Atlas by GUID (including its relationships)
+            // 1. retrieve entity from Apache Atlas by GUID (including its relationships) -- through a lookup context,
+            // so that this same entity (at one end of every relationship) is not retrieved again for each relationship
+            EntityLookupContext lookupContext = new EntityLookupContext(atlasRepositoryConnector);
             AtlasEntity.AtlasEntityWithExtInfo asset = null;
             try {
-                asset = atlasRepositoryConnector.getEntityByGUID(atlasGuid.getAtlasGuid(), false, false);
+                asset = lookupContext.getEntityByGUID(atlasGuid.getAtlasGuid(), EntityRetrievalProfile.ENTITY_WITH_RELATIONSHIPS);
             } catch (AtlasServiceException e) {
                 raiseEntityNotKnownException(ApacheAtlasOMRSErrorCode.ENTITY_NOT_KNOWN, methodName, e, entityGUID, methodName, repositoryName);
             }
@@ -799,7 +844,8 @@ public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBas
                         attributeTypeDefStore,
                         asset,
                         prefix,
-                        userId
+                        userId,
+                        lookupContext
                 );
 
                 // 2. Apply the mapping to the object, and retrieve the resulting relationships
@@ -889,50 +935,93 @@ public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBas
                 pageSize
         );
 
-        List<AtlasEntityHeader> results = null;
+        String queryKey = asOfTime == null ? getQueryResultKey(
+                methodName,
+                entityTypeGUID,
+                matchProperties,
+                matchCriteria == null ? null : matchCriteria.name(),
+                limitResultsByStatus,
+                limitResultsByClassification,
+                sequencingProperty,
+                sequencingOrder,
+                fromEntityElement,
+                pageSize
+        ) : null;
+        long queryInvalidations = queryResultInvalidations.get();
+        List<EntityDetail> entityDetails = getCachedQueryResults(queryKey);
+        if (entityDetails != null) {
+            return entityDetails.isEmpty() ? null : entityDetails;
+        }
+
+        // An exact match on a unique attribute (eg. qualifiedName) can be looked up directly, rather than searched
+        Map<String, String> uniqueAttributes = asOfTime == null ? getUniqueAttributesToLookup(
+                entityTypeGUID,
+                matchProperties,
+                matchCriteria,
+                limitResultsByStatus,
+                limitResultsByClassification,
+                userId
+        ) : null;
 
         // Immediately throw unimplemented exception if trying to retrieve historical view
         if (asOfTime != null) {
             raiseFunctionNotSupportedException(ApacheAtlasOMRSErrorCode.NO_HISTORY, methodName, repositoryName);
-        } else if (sequencingOrder != null || (limitResultsByClassification != null && limitResultsByClassification.size() > 1)) {
+        } else if (uniqueAttributes != null) {
 
-            results = buildAndRunDSLSearch(
+            entityDetails = findEntitiesByUniqueAttribute(
                     methodName,
+                    uniqueAttributes,
+                    getExactMatchValue(matchProperties.getInstanceProperties().values().iterator().next()),
                     entityTypeGUID,
-                    limitResultsByClassification,
-                    matchProperties,
-                    matchCriteria,
-                    fromEntityElement,
                     limitResultsByStatus,
+                    fromEntityElement,
                     sequencingProperty,
                     sequencingOrder,
                     pageSize,
                     userId
             );
 
-        } else {
+        } else if (sequencingOrder != null || (limitResultsByClassification != null && limitResultsByClassification.size() > 1)) {
 
-            // Only take the first classification for a basic search (if there were multiple, should be handled above
-            // by DSL query)
-            results = buildAndRunBasicSearch(
+            entityDetails = runPagedSearches(
                     methodName,
+                    getDSLSearches(
+                            entityTypeGUID,
+                            limitResultsByClassification,
+                            matchProperties,
+                            matchCriteria,
+                            limitResultsByStatus,
+                            sequencingProperty,
+                            sequencingOrder,
+                            userId
+                    ),
+                    this::pageDSLSearch,
+                    atlasRepositoryConnector::searchWithDSL,
                     entityTypeGUID,
-                    (limitResultsByClassification == null ? null : limitResultsByClassification.get(0)),
-                    matchProperties,
-                    matchCriteria,
-                    null,
                     fromEntityElement,
-                    limitResultsByStatus,
+                    sequencingProperty,
+                    sequencingOrder,
                     pageSize,
                     userId
             );
 
-        }
+        } else {
 
-        List<EntityDetail> entityDetails = null;
-        if (results != null) {
-            entityDetails = sortAndLimitFinalResults(
-                    results,
+            // Only take the first classification for a basic search (if there were multiple, should be handled above
+            // by DSL query)
+            entityDetails = runPagedSearches(
+                    methodName,
+                    buildBasicSearches(
+                            entityTypeGUID,
+                            (limitResultsByClassification == null ? null : limitResultsByClassification.get(0)),
+                            matchProperties,
+                            matchCriteria,
+                            null,
+                            limitResultsByStatus,
+                            userId
+                    ),
+                    this::pageBasicSearch,
+                    atlasRepositoryConnector::searchForEntities,
                     entityTypeGUID,
                     fromEntityElement,
                     sequencingProperty,
@@ -940,7 +1029,10 @@ public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBas
                     pageSize,
                     userId
             );
+
         }
+
+        cacheQueryResults(queryKey, queryInvalidations, entityTypeGUID, entityDetails, userId);
         return (entityDetails == null || entityDetails.isEmpty()) ? null : entityDetails;
 
     }
@@ -1018,6 +1110,24 @@ public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBas
                 pageSize
         );
 
+        String queryKey = asOfTime == null ? getQueryResultKey(
+                methodName,
+                entityTypeGUID,
+                matchClassificationProperties,
+                matchClassificationCriteria == null ? null : matchClassificationCriteria.name(),
+                limitResultsByStatus,
+                Collections.singletonList(classificationName),
+                sequencingProperty,
+                sequencingOrder,
+                fromEntityElement,
+                pageSize
+        ) : null;
+        long queryInvalidations = queryResultInvalidations.get();
+        List<EntityDetail> entityDetails = getCachedQueryResults(queryKey);
+        if (entityDetails != null) {
+            return entityDetails.isEmpty() ? null : entityDetails;
+        }
+
         List<AtlasEntityHeader> results = null;
 
         // Immediately throw unimplemented exception if trying to retrieve historical view
@@ -1031,119 +1141,112 @@ public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBas
             // TODO: need a further check whether we are being asked to sequence by property: if so,
             //  it is the _classification_ property not the _entity_ property, so we need a post-search-sorting
 
-            // Run the base search first (and if we need to match on classification properties, increase pageSize
-            // so there is buffer to cull later)
-            results = buildAndRunDSLSearch(
-                    methodName,
+            List<String> searches = getDSLSearches(
                     entityTypeGUID,
                     limitResultsByClassification,
                     null,
                     matchClassificationCriteria,
-                    fromEntityElement,
                     limitResultsByStatus,
                     sequencingProperty,
                     sequencingOrder,
-                    matchClassificationProperties == null ? pageSize : pageSize * 2,
                     userId
             );
-            // TODO: still a risk that there are many classified entities and we overflow beyond this increased pageSize
+            Predicate<AtlasEntityHeader> matcher = getClassificationMatcher(classificationName, matchClassificationProperties, matchClassificationCriteria);
+
+            if (pageSize <= 0) {
+                entityDetails = streamSearchResults(
+                        methodName,
+                        searches,
+                        this::pageDSLSearch,
+                        atlasRepositoryConnector::searchWithDSL,
+                        Collections.nCopies(searches.size(), matcher),
+                        entityTypeGUID,
+                        fromEntityElement,
+                        sequencingProperty,
+                        sequencingOrder,
+                        userId
+                );
+            } else {
+                // Keep running the base search until there are enough results that match the classification properties
+                results = runFilteredSearches(
+                        methodName,
+                        searches,
+                        this::pageDSLSearch,
+                        atlasRepositoryConnector::searchWithDSL,
+                        matcher,
+                        DEFAULT_POST_FILTER_SELECTIVITY,
+                        fromEntityElement,
+                        pageSize
+                );
+            }
 
         } else {
 
-            // Run the base search first (and if we need to match on classification properties, increase pageSize
-            // so there is buffer to cull later)
-            results = buildAndRunBasicSearch(
-                    methodName,
+            // Have Atlas itself filter on as many of the classification properties as it can, so that (if it can filter
+            // on all of them) there is no need for any buffer to cull later
+            SearchParameters.FilterCriteria tagFilters = getClassificationFilters(matchClassificationProperties, matchClassificationCriteria);
+            boolean filteredByAtlas = isClassificationFilteredByAtlas(matchClassificationProperties, tagFilters);
+            List<SearchParameters> searches = buildBasicSearches(
                     entityTypeGUID,
                     classificationName,
                     null,
                     matchClassificationCriteria,
                     null,
-                    fromEntityElement,
                     limitResultsByStatus,
-                    matchClassificationProperties == null ? pageSize : pageSize * 2,
                     userId
             );
-            // TODO: still a risk that there are many classified entities and we overflow beyond this increased pageSize
-
-        }
-
-        // Then limit any results based on the classification properties (if any were provided)
-        List<AtlasEntityHeader> atlasEntities = new ArrayList<>();
-        if (results != null && matchClassificationProperties != null) {
-
-            Map<String, InstancePropertyValue> propertiesToMatch = matchClassificationProperties.getInstanceProperties();
-
-            if (propertiesToMatch != null) {
-                // For each entity we've preliminarily identified...
-                for (AtlasEntityHeader candidateEntity : results) {
-                    List<AtlasClassification> classificationsForEntity = candidateEntity.getClassifications();
-                    // ... iterate through each of its classifications to narrow in on only the one of interest
-                    for (AtlasClassification candidateClassification : classificationsForEntity) {
-                        if (candidateClassification.getTypeName().equals(classificationName)) {
-                            // ... then iterate through the properties of that classification we're trying to match
-                            boolean bMatchesAny = false;
-                            boolean bMatchesAll = true;
-                            for (Map.Entry<String, InstancePropertyValue> propertyToMatch : propertiesToMatch.entrySet()) {
-                                String propertyName = propertyToMatch.getKey();
-                                InstancePropertyValue omrsPropertyValueToMatch = propertyToMatch.getValue();
-                                // Remember that classifications (and their properties) are one-to-one with Egeria (no mapping needed)
-                                Object atlasClassificationValue = candidateClassification.getAttribute(propertyName);
-                                boolean bMatchesThisOne = AttributeMapping.valuesMatch(omrsPropertyValueToMatch, atlasClassificationValue);
-                                bMatchesAll = bMatchesAll && bMatchesThisOne;
-                                bMatchesAny = bMatchesAny || bMatchesThisOne;
-                            }
-                            if (matchClassificationCriteria != null) {
-                                switch (matchClassificationCriteria) {
-                                    case NONE:
-                                        if (!bMatchesAny) {
-                                            atlasEntities.add(candidateEntity);
-                                        }
-                                        break;
-                                    case ALL:
-                                        if (bMatchesAll) {
-                                            atlasEntities.add(candidateEntity);
-                                        }
-                                        break;
-                                    case ANY:
-                                        if (bMatchesAny) {
-                                            atlasEntities.add(candidateEntity);
-                                        }
-                                        break;
-                                }
-                            } else if (bMatchesAll) {
-                                atlasEntities.add(candidateEntity);
-                            } else {
-                                log.debug("Unable to match properties '{}' for entity, dropping from results: {}", matchClassificationProperties, candidateEntity);
-                            }
-                        }
-                    }
+            if (tagFilters != null) {
+                for (SearchParameters searchParameters : searches) {
+                    searchParameters.setTagFilters(tagFilters);
                 }
-            } else {
-                // If there were no properties in the match set (it was empty), just grab the results directly
-                atlasEntities = results;
             }
 
-            // ... trim the results list to size, before we retrieve full EntityDetails for each
-            int endOfPageMarker = Math.min(fromEntityElement + pageSize, atlasEntities.size());
-            if (fromEntityElement != 0 || endOfPageMarker < atlasEntities.size()) {
-                atlasEntities = atlasEntities.subList(fromEntityElement, endOfPageMarker);
+            Predicate<AtlasEntityHeader> matcher = getClassificationMatcher(classificationName, matchClassificationProperties, matchClassificationCriteria);
+
+            if (pageSize <= 0) {
+                entityDetails = streamSearchResults(
+                        methodName,
+                        searches,
+                        this::pageBasicSearch,
+                        atlasRepositoryConnector::searchForEntities,
+                        Collections.nCopies(searches.size(), matcher),
+                        entityTypeGUID,
+                        fromEntityElement,
+                        sequencingProperty,
+                        sequencingOrder,
+                        userId
+                );
+            } else {
+                // Keep running the base search until there are enough results that match the classification properties
+                // (still checking them ourselves where Atlas has filtered on them, but expecting all results to match)
+                results = runFilteredSearches(
+                        methodName,
+                        searches,
+                        this::pageBasicSearch,
+                        atlasRepositoryConnector::searchForEntities,
+                        matcher,
+                        filteredByAtlas ? 1.0 : DEFAULT_POST_FILTER_SELECTIVITY,
+                        fromEntityElement,
+                        pageSize
+                );
             }
 
-        } else if (results != null) {
-            // If no classification properties to limit, just grab the results directly
-            atlasEntities = results;
         }
 
-        List<EntityDetail> entityDetails = sortAndLimitFinalResults(
-                atlasEntities,
-                entityTypeGUID,
-                fromEntityElement,
-                sequencingProperty,
-                sequencingOrder,
-                pageSize,
-                userId
-        );
+        if (entityDetails == null) {
+            // The results have already been limited by any classification properties, and trimmed to the end of the page
+            List<AtlasEntityHeader> atlasEntities = results == null ? Collections.emptyList() : results;
+            entityDetails = sortAndLimitFinalResults(
+                    atlasEntities,
+                    entityTypeGUID,
+                    fromEntityElement,
+                    sequencingProperty,
+                    sequencingOrder,
+                    pageSize,
+                    userId
+            );
+        }
+        cacheQueryResults(queryKey, queryInvalidations, entityTypeGUID, entityDetails, userId);
         return (entityDetails == null || entityDetails.isEmpty()) ? null : entityDetails;
 
     }
@@ -1184,120 +1287,103 @@ public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBas
                 pageSize
         );
 
-        List<AtlasEntityHeader> results = new ArrayList<>();
+        String queryKey = asOfTime == null ? getQueryResultKey(
+                methodName,
+                entityTypeGUID,
+                null,
+                searchCriteria,
+                limitResultsByStatus,
+                limitResultsByClassification,
+                sequencingProperty,
+                sequencingOrder,
+                fromEntityElement,
+                pageSize
+        ) : null;
+        long queryInvalidations = queryResultInvalidations.get();
+        List<EntityDetail> entityDetails = getCachedQueryResults(queryKey);
+        if (entityDetails != null) {
+            return entityDetails.isEmpty() ? null : entityDetails;
+        }
 
         // Immediately throw unimplemented exception if trying to retrieve historical view
         if (asOfTime != null) {
             raiseFunctionNotSupportedException(ApacheAtlasOMRSErrorCode.NO_HISTORY, methodName, repositoryName);
         }
 
-        InstanceProperties matchProperties = null;
-
         // Search criteria is not allowed to be empty for this method, so cannot be null or empty string.
         if (repositoryHelper.isContainsRegex(searchCriteria) && sequencingOrder == null && (limitResultsByClassification == null || limitResultsByClassification.size() == 1)) {
             // If the search criteria is a contains regex, no sorting is required, and limiting by classification is at most
             // one, we can do a full text-based query in Atlas
-            results = buildAndRunBasicSearch(
-                    methodName,
+            List<SearchParameters> searches = buildBasicSearches(
                     entityTypeGUID,
                     (limitResultsByClassification == null ? null : limitResultsByClassification.get(0)),
                     null,
                     null,
                     searchCriteria,
-                    fromEntityElement,
                     limitResultsByStatus,
-                    pageSize,
                     userId
             );
-        } else {
+            List<QuickSearchParameters> quickSearches = atlasRepositoryConnector.isQuickSearch() ? getQuickSearches(searches, searchCriteria) : null;
+            if (quickSearches != null) {
+                entityDetails = runPagedSearches(
+                        methodName,
+                        quickSearches,
+                        this::pageQuickSearch,
+                        atlasRepositoryConnector::quickSearch,
+                        entityTypeGUID,
+                        fromEntityElement,
+                        sequencingProperty,
+                        sequencingOrder,
+                        pageSize,
+                        userId
+                );
+            } else {
+                entityDetails = runPagedSearches(
+                        methodName,
+                        searches,
+                        this::pageBasicSearch,
+                        atlasRepositoryConnector::searchForEntities,
+                        entityTypeGUID,
+                        fromEntityElement,
+                        sequencingProperty,
+                        sequencingOrder,
+                        pageSize,
+                        userId
+                );
+            }
+        } else if (sequencingOrder != null || (limitResultsByClassification != null && limitResultsByClassification.size() > 1)) {
 
-            // Otherwise we need to do an OR-based search across all string properties in Atlas, using whatever the
-            // regex of searchCriteria contains for each property
-            matchProperties = new InstanceProperties();
-
-            // Add all textual properties of the provided entity as matchProperties,
-            //  for an OR-based search of their values
-            Map<String, Map<String, String>> mappingsToSearch = getMappingsToSearch(entityTypeGUID, userId);
-            for (Map.Entry<String, Map<String, String>> entryToSearch : mappingsToSearch.entrySet()) {
-
-                String omrsTypeName = entryToSearch.getKey();
-                String omrsTypeGUID = typeDefStore.getTypeDefByName(omrsTypeName).getGUID();
-
-                Map<String, TypeDefAttribute> typeDefAttributeMap = typeDefStore.getAllTypeDefAttributesForName(omrsTypeName);
-
-                if (typeDefAttributeMap != null) {
-                    // This will look at all OMRS attributes, but buildAndRunDSLSearch (later) should limit to only those mapped to Atlas
-                    for (Map.Entry<String, TypeDefAttribute> attributeEntry : typeDefAttributeMap.entrySet()) {
-                        String attributeName = attributeEntry.getKey();
-                        TypeDefAttribute typeDefAttribute = attributeEntry.getValue();
-                        // Only need to retain string-based attributes for the full text search
-                        AttributeTypeDef attributeTypeDef = typeDefAttribute.getAttributeType();
-                        if (attributeTypeDef.getCategory().equals(AttributeTypeDefCategory.PRIMITIVE)) {
-                            PrimitiveDefCategory primitiveDefCategory = ((PrimitiveDef) attributeTypeDef).getPrimitiveDefCategory();
-                            if (primitiveDefCategory.equals(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING)
-                                    || primitiveDefCategory.equals(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_BYTE)
-                                    || primitiveDefCategory.equals(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_CHAR)) {
-                                matchProperties = repositoryHelper.addStringPropertyToInstance(
-                                        repositoryName,
-                                        matchProperties,
-                                        attributeName,
-                                        searchCriteria,
-                                        methodName
-                                );
-                            } else {
-                                log.debug("Skipping inclusion of non-string attribute: {}", attributeName);
-                            }
-                        } else {
-                            log.debug("Skipping inclusion of non-string attribute: {}", attributeName);
-                        }
+            // If we need to do any sequencing or limiting by multiple classifications, then we must run a DSL search:
+            // an OR-based search across all string properties of every type, using whatever the regex of searchCriteria
+            // contains for each property (each type's search only includes the properties mapped for that type)
+            InstanceProperties matchProperties = new InstanceProperties();
+            for (SearchMapping mapping : getSearchPlan(entityTypeGUID, userId)) {
+                for (String omrsPropertyName : typeDefStore.getStringAttributeMappingsForOMRSTypeDef(mapping.getOmrsTypeName(), mapping.getPrefix()).keySet()) {
+                    if (matchProperties.getPropertyValue(omrsPropertyName) == null) {
+                        matchProperties = repositoryHelper.addStringPropertyToInstance(
+                                repositoryName,
+                                matchProperties,
+                                omrsPropertyName,
+                                searchCriteria,
+                                methodName
+                        );
                     }
                 }
-
-                List<AtlasEntityHeader> innerResults;
-                if (sequencingOrder != null || (limitResultsByClassification != null && limitResultsByClassification.size() > 1)) {
-                    // If we need to do any sequencing or limiting by multiple classifications, then we must run a DSL search
-                    innerResults = buildAndRunDSLSearch(
-                            methodName,
-                            omrsTypeGUID,
+            }
+            entityDetails = runPagedSearches(
+                    methodName,
+                    getDSLSearches(
+                            entityTypeGUID,
                             limitResultsByClassification,
                             matchProperties,
                             MatchCriteria.ANY,
-                            fromEntityElement,
                             limitResultsByStatus,
                             sequencingProperty,
                             sequencingOrder,
-                            pageSize,
                             userId
-                    );
-                } else {
-                    // Otherwise we can still do a basic search -- only take the first classification for a basic search
-                    // (if there were multiple, should be handled above by DSL query)
-                    innerResults = buildAndRunBasicSearch(
-                            methodName,
-                            omrsTypeGUID,
-                            (limitResultsByClassification == null ? null : limitResultsByClassification.get(0)),
-                            matchProperties,
-                            MatchCriteria.ANY,
-                            null,
-                            fromEntityElement,
-                            limitResultsByStatus,
-                            pageSize,
-                            userId
-                    );
-                }
-
-                if (innerResults != null) {
-                    results.addAll(innerResults);
-                }
-
-            }
-
-        }
-
-        List<EntityDetail> entityDetails = null;
-        if (results != null) {
-            entityDetails = sortAndLimitFinalResults(
-                    results,
+                    ),
+                    this::pageDSLSearch,
+                    atlasRepositoryConnector::searchWithDSL,
                     entityTypeGUID,
                     fromEntityElement,
                     sequencingProperty,
@@ -1305,7 +1391,72 @@ public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBas
                     pageSize,
                     userId
             );
+
+        } else {
+
+            // Otherwise we can still do a basic search -- only take the first classification for a basic search (if
+            // there were multiple, should be handled above by DSL query)
+            List<Predicate<AtlasEntityHeader>> filters = new ArrayList<>();
+            List<SearchParameters> searches = buildPropertyValueSearches(
+                    entityTypeGUID,
+                    searchCriteria,
+                    (limitResultsByClassification == null ? null : limitResultsByClassification.get(0)),
+                    limitResultsByStatus,
+                    atlasRepositoryConnector.isUnionPropertyValueSearch(),
+                    filters,
+                    userId
+            );
+            if (filters.stream().allMatch(Objects::isNull)) {
+                entityDetails = runPagedSearches(
+                        methodName,
+                        searches,
+                        this::pageBasicSearch,
+                        atlasRepositoryConnector::searchForEntities,
+                        entityTypeGUID,
+                        fromEntityElement,
+                        sequencingProperty,
+                        sequencingOrder,
+                        pageSize,
+                        userId
+                );
+            } else if (pageSize <= 0) {
+                entityDetails = streamSearchResults(
+                        methodName,
+                        searches,
+                        this::pageBasicSearch,
+                        atlasRepositoryConnector::searchForEntities,
+                        filters,
+                        entityTypeGUID,
+                        fromEntityElement,
+                        sequencingProperty,
+                        sequencingOrder,
+                        userId
+                );
+            } else {
+                // Searches merged into a common supertype must be filtered back to the types they replaced
+                entityDetails = sortAndLimitFinalResults(
+                        runFilteredSearches(
+                                methodName,
+                                searches,
+                                this::pageBasicSearch,
+                                atlasRepositoryConnector::searchForEntities,
+                                filters,
+                                DEFAULT_POST_FILTER_SELECTIVITY,
+                                fromEntityElement,
+                                pageSize
+                        ),
+                        entityTypeGUID,
+                        fromEntityElement,
+                        sequencingProperty,
+                        sequencingOrder,
+                        pageSize,
+                        userId
+                );
+            }
+
         }
+
+        cacheQueryResults(queryKey, queryInvalidations, entityTypeGUID, entityDetails, userId);
         return (entityDetails == null || entityDetails.isEmpty()) ? null : entityDetails;
 
     }
@@ -1352,7 +1503,7 @@ public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBas
             // a relationship) from Atlas
             Relationship relationship = null;
             try {
-                AtlasEntity.AtlasEntityWithExtInfo entity = atlasRepositoryConnector.getEntityByGUID(atlasGuid.getAtlasGuid(), true, true);
+                AtlasEntity.AtlasEntityWithExtInfo entity = atlasRepositoryConnector.getEntityByGUID(atlasGuid.getAtlasGuid(), EntityRetrievalProfile.ENTITY);
                 if (entity != null) {
                     relationship = RelationshipMapping.getSelfReferencingRelationship(
                             atlasRepositoryConnector,
@@ -1632,6 +1783,68 @@ public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBas
      */
     public Set<InstanceStatus> getAvailableStates() { return this.availableStates; }
 
+    /**
+     * Retrieve the search plan for an entity search: the listing of implemented mappings that should be searched,
+     * including navigating subtypes when a supertype is the entity type provided. Plans depend only on the TypeDefs,
+     * so they are only worked out once for each entity type, until the TypeDefs change.
+     *
+     * @param entityTypeGUID the GUID of the OMRS entity type for which to search
+     * @param userId the userId through which to search
+     * @return {@code List<SearchMapping>}
+     * @throws RepositoryErrorException on any unexpected error
+     */
+    private List<SearchMapping> getSearchPlan(String entityTypeGUID, String userId) throws
+            RepositoryErrorException {
+
+        long typeDefChangeCount = typeDefStore.getChangeCount();
+        if (typeDefChangeCount != searchPlanTypeDefChangeCount) {
+            // The TypeDefs have changed, so any previous plans could now be different
+            searchPlans.clear();
+            searchPlanTypeDefChangeCount = typeDefChangeCount;
+        }
+        String key = entityTypeGUID == null ? "" : entityTypeGUID;
+        List<SearchMapping> plan = searchPlans.get(key);
+        if (plan == null) {
+            plan = Collections.unmodifiableList(buildSearchPlan(entityTypeGUID, userId));
+            searchPlans.put(key, plan);
+        }
+        return plan;
+
+    }
+
+    /**
+     * Work out the search plan for an entity search (see getSearchPlan).
+     *
+     * @param entityTypeGUID the GUID of the OMRS entity type for which to search
+     * @param userId the userId through which to search
+     * @return {@code List<SearchMapping>}
+     * @throws RepositoryErrorException on any unexpected error
+     */
+    private List<SearchMapping> buildSearchPlan(String entityTypeGUID, String userId) throws
+            RepositoryErrorException {
+
+        List<SearchMapping> plan = new ArrayList<>();
+        for (Map.Entry<String, Map<String, String>> entryToSearch : getMappingsToSearch(entityTypeGUID, userId).entrySet()) {
+            String omrsTypeName = entryToSearch.getKey();
+            TypeDef omrsTypeDef = typeDefStore.getTypeDefByName(omrsTypeName);
+            Map<String, TypeDefAttribute> omrsAttrTypeDefs = typeDefStore.getAllTypeDefAttributesForName(omrsTypeName);
+            for (Map.Entry<String, String> entry : entryToSearch.getValue().entrySet()) {
+                String prefix = entry.getKey();
+                Map<String, String> omrsPropertyMap = typeDefStore.getPropertyMappingsForOMRSTypeDef(omrsTypeName, prefix);
+                plan.add(new SearchMapping(
+                        omrsTypeName,
+                        omrsTypeDef == null ? null : omrsTypeDef.getGUID(),
+                        prefix,
+                        entry.getValue(),
+                        omrsPropertyMap == null ? null : Collections.unmodifiableMap(new HashMap<>(omrsPropertyMap)),
+                        omrsAttrTypeDefs == null ? null : Collections.unmodifiableMap(new HashMap<>(omrsAttrTypeDefs))
+                ));
+            }
+        }
+        return plan;
+
+    }
+
     /**
      * Retrieve the listing of implemented mappings that should be used for an entity search, including navigating
      * subtypes when a supertype is the entity type provided.  The result will be a map of OMRS type name to a map
@@ -1693,243 +1906,405 @@ public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBas
     }
 
     /**
-     * Build an Atlas domain-specific language (DSL) query based on the provided parameters, and return its results.
+     * Retrieve an Atlas domain-specific language (DSL) query for each Apache Atlas type to be searched, based on the
+     * provided parameters. The queries are not yet paged (see pageDSLSearch). Queries are built from a template for
+     * the shape of the search (see buildDSLSearches), which is only built once for each shape: each search then only
+     * needs to bind its own literal values into the template.
      *
-     * @param methodName the name of the calling method
      * @param entityTypeGUID unique identifier for the type of entity requested.  Null means any type of entity
      *                       (but could be slow so not recommended.
      * @param limitResultsByClassification list of classifications by which to limit the results.
      * @param matchProperties Optional list of entity properties to match (contains wildcards).
      * @param matchCriteria Enum defining how the match properties should be matched to the classifications in the repository.
-     * @param fromEntityElement the starting element number of the entities to return.
-     *                                This is used when retrieving elements
-     *                                beyond the first page of results. Zero means start from the first element.
      * @param limitResultsByStatus By default, entities in all statuses are returned.  However, it is possible
      *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
      *                             status values.
      * @param sequencingProperty String name of the entity property that is to be used to sequence the results.
      *                           Null means do not sequence on a property name (see SequencingOrder).
      * @param sequencingOrder Enum defining how the results should be ordered.
-     * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
-     *                 unrestricted return results size.
      * @param userId the user through which to run the search
-     * @return {@code List<AtlasEntityHeader>}
+     * @return {@code List<String>}
      * @throws FunctionNotSupportedException when trying to search using a status that is not supported in Atlas
      * @throws RepositoryErrorException when there is some error running the search against Atlas
      */
-    private List<AtlasEntityHeader> buildAndRunDSLSearch(String methodName,
-                                                         String entityTypeGUID,
-                                                         List<String> limitResultsByClassification,
-                                                         InstanceProperties matchProperties,
-                                                         MatchCriteria matchCriteria,
-                                                         int fromEntityElement,
-                                                         List<InstanceStatus> limitResultsByStatus,
-                                                         String sequencingProperty,
-                                                         SequencingOrder sequencingOrder,
-                                                         int pageSize,
-                                                         String userId) throws
+    private List<String> getDSLSearches(String entityTypeGUID,
+                                        List<String> limitResultsByClassification,
+                                        InstanceProperties matchProperties,
+                                        MatchCriteria matchCriteria,
+                                        List<InstanceStatus> limitResultsByStatus,
+                                        String sequencingProperty,
+                                        SequencingOrder sequencingOrder,
+                                        String userId) throws
             FunctionNotSupportedException,
             RepositoryErrorException {
 
-        // If we need to order the results, it will probably be more efficient to use Atlas's DSL query language
-        // to do the search
-        boolean skipSearch = false;
-        StringBuilder sb = new StringBuilder();
-
-        // Run multiple searches, if there are multiple types mapped to the OMRS type...
-        Map<String, Map<String, String>> mappingsToSearch = getMappingsToSearch(entityTypeGUID, userId);
-        List<AtlasSearchResult> totalResults = new ArrayList<>();
-        for (Map.Entry<String, Map<String, String>> entryToSearch : mappingsToSearch.entrySet()) {
-            String omrsTypeName = entryToSearch.getKey();
-            Map<String, String> atlasTypeNamesByPrefix = entryToSearch.getValue();
-
-            for (Map.Entry<String, String> entry : atlasTypeNamesByPrefix.entrySet()) {
-
-                String prefix = entry.getKey();
-                String atlasTypeName = entry.getValue();
-                Map<String, String> omrsPropertyMap = typeDefStore.getPropertyMappingsForOMRSTypeDef(omrsTypeName, prefix);
-
-                sb.append("from ");
-                sb.append(atlasTypeName);
-                boolean bWhereClauseAdded = false;
+        StringBuilder shape = new StringBuilder();
+        shape.append(typeDefStore.getChangeCount());
+        shape.append("|").append(entityTypeGUID);
+        shape.append("|").append(limitResultsByClassification);
+        shape.append("|").append(matchCriteria);
+        shape.append("|").append(limitResultsByStatus == null ? null : new TreeSet<>(limitResultsByStatus));
+        shape.append("|").append(sequencingProperty);
+        shape.append("|").append(sequencingOrder);
+
+        // Replace each literal value with a parameter marker (values that cannot be bound into a template are instead
+        // part of the shape itself)
+        InstanceProperties parameterized = null;
+        List<String> values = new ArrayList<>();
+        Map<String, InstancePropertyValue> properties = matchProperties == null ? null : matchProperties.getInstanceProperties();
+        if (properties != null) {
+            parameterized = new InstanceProperties();
+            for (Map.Entry<String, InstancePropertyValue> property : properties.entrySet()) {
+                InstancePropertyValue parameter = getDSLParameter(property.getValue(), values, shape);
+                if (parameter == null) {
+                    // Not a search we can template, so just build it directly
+                    return buildDSLSearches(
+                            entityTypeGUID,
+                            limitResultsByClassification,
+                            matchProperties,
+                            matchCriteria,
+                            limitResultsByStatus,
+                            sequencingProperty,
+                            sequencingOrder,
+                            userId
+                    );
+                }
+                shape.append("|").append(property.getKey());
+                parameterized.setProperty(property.getKey(), parameter);
+            }
+        }
 
-                // Add the multiple classification criteria, if requested
-                // (recall that OMRS classification name should be identical to Atlas classification name -- no translation needed)
-                if (limitResultsByClassification != null) {
-                    List<String> classifications = new ArrayList<>();
-                    for (String classificationName : limitResultsByClassification) {
-                        classifications.add(atlasTypeName + " isa " + classificationName);
-                    }
-                    if (!classifications.isEmpty()) {
-                        sb.append(" where ");
-                        sb.append(String.join(" and ", classifications));
-                        bWhereClauseAdded = true;
-                    }
+        String key = shape.toString();
+        List<DSLQueryTemplate> templates = dslQueryTemplates.get(key);
+        if (templates == null) {
+            templates = new ArrayList<>();
+            for (String query : buildDSLSearches(
+                    entityTypeGUID,
+                    limitResultsByClassification,
+                    parameterized,
+                    matchCriteria,
+                    limitResultsByStatus,
+                    sequencingProperty,
+                    sequencingOrder,
+                    userId)) {
+                templates.add(DSLQueryTemplate.compile(query));
+            }
+            dslQueryTemplates.put(key, templates);
+        }
+
+        List<String> queries = new ArrayList<>();
+        for (DSLQueryTemplate template : templates) {
+            queries.add(template.bind(values));
+        }
+        return queries;
+
+    }
+
+    /**
+     * Retrieve the parameterized form of the provided search value: for a value that can be bound into a DSL query
+     * template, its literal is added to the list of values and a value with a parameter marker in place of the
+     * literal is returned. Any other value is returned as-is, and is instead added to the shape of the search.
+     *
+     * @param value the value for which to search
+     * @param values the literal values bound so far, to which to add this value's literal (if it can be bound)
+     * @param shape the shape of the search, to which to add the shape of this value
+     * @return InstancePropertyValue, or null if the value cannot be searched through a template
+     */
+    private InstancePropertyValue getDSLParameter(InstancePropertyValue value, List<String> values, StringBuilder shape) {
+
+        if (value == null) {
+            return null;
+        }
+        InstancePropertyCategory category = value.getInstancePropertyCategory();
+        if (category == InstancePropertyCategory.ENUM) {
+            // Enumerations are translated to (a small set of) mapped values, so the value itself is part of the shape
+            shape.append("|E:").append(((EnumPropertyValue) value).getSymbolicName());
+            return value;
+        } else if (category != InstancePropertyCategory.PRIMITIVE) {
+            return null;
+        }
+
+        PrimitivePropertyValue actualValue = (PrimitivePropertyValue) value;
+        PrimitiveDefCategory primitiveType = actualValue.getPrimitiveDefCategory();
+        Object primitiveValue = actualValue.getPrimitiveValue();
+        if (primitiveValue == null) {
+            return null;
+        }
+        String marker = DSLQueryTemplate.getParameterMarker(values.size());
+        PrimitivePropertyValue parameter = new PrimitivePropertyValue();
+        parameter.setPrimitiveDefCategory(primitiveType);
+        parameter.setTypeName(actualValue.getTypeName());
+        parameter.setTypeGUID(actualValue.getTypeGUID());
+        switch (primitiveType) {
+            case OM_PRIMITIVE_TYPE_DATE:
+                // Dates are not bound directly into the query, so the value itself is part of the shape
+                shape.append("|D:").append(primitiveValue);
+                return value;
+            case OM_PRIMITIVE_TYPE_BOOLEAN:
+            case OM_PRIMITIVE_TYPE_SHORT:
+            case OM_PRIMITIVE_TYPE_INT:
+            case OM_PRIMITIVE_TYPE_LONG:
+            case OM_PRIMITIVE_TYPE_FLOAT:
+            case OM_PRIMITIVE_TYPE_DOUBLE:
+            case OM_PRIMITIVE_TYPE_BIGINTEGER:
+            case OM_PRIMITIVE_TYPE_BIGDECIMAL:
+            case OM_PRIMITIVE_TYPE_BYTE:
+            case OM_PRIMITIVE_TYPE_CHAR:
+                shape.append("|P:").append(primitiveType);
+                values.add(primitiveValue.toString());
+                parameter.setPrimitiveValue(marker);
+                return parameter;
+            case OM_PRIMITIVE_TYPE_STRING:
+            default:
+                String candidateValue = primitiveValue.toString();
+                if (repositoryHelper.isContainsRegex(candidateValue)) {
+                    shape.append("|S:contains");
+                    parameter.setPrimitiveValue(repositoryHelper.getContainsRegex(marker));
+                } else if (repositoryHelper.isEndsWithRegex(candidateValue)) {
+                    shape.append("|S:endsWith");
+                    parameter.setPrimitiveValue(repositoryHelper.getEndsWithRegex(marker));
+                } else if (repositoryHelper.isStartsWithRegex(candidateValue)) {
+                    shape.append("|S:startsWith");
+                    parameter.setPrimitiveValue(repositoryHelper.getStartsWithRegex(marker));
+                } else if (repositoryHelper.isExactMatchRegex(candidateValue)) {
+                    shape.append("|S:exact");
+                    parameter.setPrimitiveValue(repositoryHelper.getExactMatchRegex(marker));
+                } else {
+                    // Not a regular expression we can search with: leave it to be rejected when building the query
+                    return null;
                 }
+                values.add(repositoryHelper.getUnqualifiedLiteralString(candidateValue));
+                return parameter;
+        }
 
-                // Add match properties, if requested
-                if (matchProperties != null) {
-                    List<String> propertyCriteria = new ArrayList<>();
-                    Map<String, InstancePropertyValue> properties = matchProperties.getInstanceProperties();
-                    // By default, include only Referenceable's properties (as these will be the only properties that exist
-                    // across ALL entity types)
-                    Map<String, TypeDefAttribute> omrsAttrTypeDefs = typeDefStore.getAllTypeDefAttributesForName(omrsTypeName);
-                    if (properties != null) {
-                        for (Map.Entry<String, InstancePropertyValue> property : properties.entrySet()) {
-                            String omrsPropertyName = property.getKey();
-                            InstancePropertyValue value = property.getValue();
-                            boolean added = addSearchConditionFromValue(
-                                    propertyCriteria,
-                                    omrsPropertyName,
-                                    value,
-                                    omrsPropertyMap,
-                                    omrsAttrTypeDefs,
-                                    (matchCriteria != null) && matchCriteria.equals(MatchCriteria.NONE),
-                                    true
-                            );
-                            if (!added) {
-                                if (matchCriteria == null || matchCriteria.equals(MatchCriteria.ALL)) {
-                                    // If we are asked to find everything, but one of the properties cannot be searched,
-                                    // then we should skip the search
-                                    skipSearch = true;
-                                    log.info("Skipping search ({}) -- ALL criteria should match, but this one is unmapped: {}", entityTypeGUID, omrsPropertyName);
-                                }
+    }
+
+    /**
+     * Build an Atlas domain-specific language (DSL) query for each Apache Atlas type to be searched, based on the
+     * provided parameters. The queries are not yet paged (see pageDSLSearch).
+     *
+     * @param entityTypeGUID unique identifier for the type of entity requested.  Null means any type of entity
+     *                       (but could be slow so not recommended.
+     * @param limitResultsByClassification list of classifications by which to limit the results.
+     * @param matchProperties Optional list of entity properties to match (contains wildcards).
+     * @param matchCriteria Enum defining how the match properties should be matched to the classifications in the repository.
+     * @param limitResultsByStatus By default, entities in all statuses are returned.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param sequencingProperty String name of the entity property that is to be used to sequence the results.
+     *                           Null means do not sequence on a property name (see SequencingOrder).
+     * @param sequencingOrder Enum defining how the results should be ordered.
+     * @param userId the user through which to run the search
+     * @return {@code List<String>}
+     * @throws FunctionNotSupportedException when trying to search using a status that is not supported in Atlas
+     * @throws RepositoryErrorException when there is some error running the search against Atlas
+     */
+    private List<String> buildDSLSearches(String entityTypeGUID,
+                                          List<String> limitResultsByClassification,
+                                          InstanceProperties matchProperties,
+                                          MatchCriteria matchCriteria,
+                                          List<InstanceStatus> limitResultsByStatus,
+                                          String sequencingProperty,
+                                          SequencingOrder sequencingOrder,
+                                          String userId) throws
+            FunctionNotSupportedException,
+            RepositoryErrorException {
+
+        // If we need to order the results, it will probably be more efficient to use Atlas's DSL query language
+        // to do the search
+
+        // Run multiple searches, if there are multiple types mapped to the OMRS type...
+        List<String> queries = new ArrayList<>();
+        for (SearchMapping mapping : getSearchPlan(entityTypeGUID, userId)) {
+
+            String atlasTypeName = mapping.getAtlasTypeName();
+            Map<String, String> omrsPropertyMap = mapping.getOmrsPropertyMap();
+            boolean skipSearch = false;
+            StringBuilder sb = new StringBuilder();
+
+            sb.append("from ");
+            sb.append(atlasTypeName);
+            boolean bWhereClauseAdded = false;
+
+            // Add the multiple classification criteria, if requested
+            // (recall that OMRS classification name should be identical to Atlas classification name -- no translation needed)
+            if (limitResultsByClassification != null) {
+                List<String> classifications = new ArrayList<>();
+                for (String classificationName : limitResultsByClassification) {
+                    classifications.add(atlasTypeName + " isa " + classificationName);
+                }
+                if (!classifications.isEmpty()) {
+                    sb.append(" where ");
+                    sb.append(String.join(" and ", classifications));
+                    bWhereClauseAdded = true;
+                }
+            }
+
+            // Add match properties, if requested
+            if (matchProperties != null) {
+                List<String> propertyCriteria = new ArrayList<>();
+                Map<String, InstancePropertyValue> properties = matchProperties.getInstanceProperties();
+                // By default, include only Referenceable's properties (as these will be the only properties that exist
+                // across ALL entity types)
+                Map<String, TypeDefAttribute> omrsAttrTypeDefs = mapping.getOmrsAttributeDefs();
+                if (properties != null) {
+                    for (Map.Entry<String, InstancePropertyValue> property : properties.entrySet()) {
+                        String omrsPropertyName = property.getKey();
+                        InstancePropertyValue value = property.getValue();
+                        boolean added = addSearchConditionFromValue(
+                                propertyCriteria,
+                                omrsPropertyName,
+                                value,
+                                omrsPropertyMap,
+                                omrsAttrTypeDefs,
+                                (matchCriteria != null) && matchCriteria.equals(MatchCriteria.NONE),
+                                true
+                        );
+                        if (!added) {
+                            if (matchCriteria == null || matchCriteria.equals(MatchCriteria.ALL)) {
+                                // If we are asked to find everything, but one of the properties cannot be searched,
+                                // then we should skip the search
+                                skipSearch = true;
+                                log.info("Skipping search ({}) -- ALL criteria should match, but this one is unmapped: {}", entityTypeGUID, omrsPropertyName);
                             }
                         }
                     }
-                    if (!propertyCriteria.isEmpty()) {
-                        String propertyMatchDelim = " and ";
-                        if (matchCriteria != null && matchCriteria.equals(MatchCriteria.ANY)) {
-                            propertyMatchDelim = " or ";
-                        }
-                        if (!bWhereClauseAdded) {
-                            sb.append(" where");
-                        }
-                        sb.append(" ");
-                        sb.append(String.join(propertyMatchDelim, propertyCriteria));
+                }
+                if (!propertyCriteria.isEmpty()) {
+                    String propertyMatchDelim = " and ";
+                    if (matchCriteria != null && matchCriteria.equals(MatchCriteria.ANY)) {
+                        propertyMatchDelim = " or ";
                     }
+                    if (!bWhereClauseAdded) {
+                        sb.append(" where");
+                    }
+                    sb.append(" ");
+                    sb.append(String.join(propertyMatchDelim, propertyCriteria));
                 }
+            }
 
-                // Add status limiters, if requested
-                boolean unsupportedStatusRequested = false;
-                if (limitResultsByStatus != null) {
-                    List<String> states = new ArrayList<>();
-                    Set<InstanceStatus> limitSet = new HashSet<>(limitResultsByStatus);
-                    for (InstanceStatus requestedStatus : limitSet) {
-                        switch (requestedStatus) {
-                            case ACTIVE:
-                                states.add("__state = 'ACTIVE'");
-                                break;
-                            case DELETED:
-                                states.add("__state = 'DELETED'");
-                                break;
-                            default:
-                                unsupportedStatusRequested = true;
-                                break;
-                        }
+            // Add status limiters, if requested
+            boolean unsupportedStatusRequested = false;
+            if (limitResultsByStatus != null) {
+                List<String> states = new ArrayList<>();
+                Set<InstanceStatus> limitSet = new HashSet<>(limitResultsByStatus);
+                for (InstanceStatus requestedStatus : limitSet) {
+                    switch (requestedStatus) {
+                        case ACTIVE:
+                            states.add("__state = 'ACTIVE'");
+                            break;
+                        case DELETED:
+                            states.add("__state = 'DELETED'");
+                            break;
+                        default:
+                            unsupportedStatusRequested = true;
+                            break;
                     }
-                    if (!states.isEmpty()) {
-                        if (!bWhereClauseAdded) {
-                            sb.append(" where");
-                        }
-                        sb.append(" ");
-                        sb.append(String.join(" or ", states));
-                    } else if (unsupportedStatusRequested) {
-                        // We are searching only for a state that Atlas does not support, so we should ensure no
-                        // results are returned (in fact, skip searching entirely).
-                        skipSearch = true;
-                        log.info("Skipping search ({}) -- one or more unsupported statuses requested: {}", entityTypeGUID, limitSet);
+                }
+                if (!states.isEmpty()) {
+                    if (!bWhereClauseAdded) {
+                        sb.append(" where");
                     }
+                    sb.append(" ");
+                    sb.append(String.join(" or ", states));
+                } else if (unsupportedStatusRequested) {
+                    // We are searching only for a state that Atlas does not support, so we should ensure no
+                    // results are returned (in fact, skip searching entirely).
+                    skipSearch = true;
+                    log.info("Skipping search ({}) -- one or more unsupported statuses requested: {}", entityTypeGUID, limitSet);
                 }
+            }
 
-                if (!skipSearch) {
-                    // Add sorting criteria, if requested
-                    if (sequencingOrder != null) {
-                        switch (sequencingOrder) {
-                            case GUID:
-                                sb.append(" orderby __guid asc");
-                                break;
-                            case LAST_UPDATE_OLDEST:
-                                sb.append(" orderby __modificationTimestamp asc");
-                                break;
-                            case LAST_UPDATE_RECENT:
-                                sb.append(" orderby __modificationTimestamp desc");
-                                break;
-                            case CREATION_DATE_OLDEST:
-                                sb.append(" orderby __timestamp asc");
-                                break;
-                            case CREATION_DATE_RECENT:
-                                sb.append(" orderby __timestamp desc");
-                                break;
-                            case PROPERTY_ASCENDING:
-                                if (sequencingProperty != null) {
-                                    String atlasPropertyName = omrsPropertyMap.get(sequencingProperty);
-                                    if (atlasPropertyName != null) {
-                                        sb.append(" orderby ");
-                                        sb.append(atlasPropertyName);
-                                        sb.append(" asc");
-                                    } else {
-                                        log.warn("Unable to find mapped Atlas property for sorting for: {}", sequencingProperty);
-                                        sb.append(" orderby __guid asc");
-                                    }
+            if (!skipSearch) {
+                // Add sorting criteria, if requested
+                if (sequencingOrder != null) {
+                    switch (sequencingOrder) {
+                        case GUID:
+                            sb.append(" orderby __guid asc");
+                            break;
+                        case LAST_UPDATE_OLDEST:
+                            sb.append(" orderby __modificationTimestamp asc");
+                            break;
+                        case LAST_UPDATE_RECENT:
+                            sb.append(" orderby __modificationTimestamp desc");
+                            break;
+                        case CREATION_DATE_OLDEST:
+                            sb.append(" orderby __timestamp asc");
+                            break;
+                        case CREATION_DATE_RECENT:
+                            sb.append(" orderby __timestamp desc");
+                            break;
+                        case PROPERTY_ASCENDING:
+                            if (sequencingProperty != null) {
+                                String atlasPropertyName = omrsPropertyMap.get(sequencingProperty);
+                                if (atlasPropertyName != null) {
+                                    sb.append(" orderby ");
+                                    sb.append(atlasPropertyName);
+                                    sb.append(" asc");
                                 } else {
-                                    log.warn("No property for sorting provided, defaulting to GUID.");
+                                    log.warn("Unable to find mapped Atlas property for sorting for: {}", sequencingProperty);
                                     sb.append(" orderby __guid asc");
                                 }
-                                break;
-                            case PROPERTY_DESCENDING:
-                                if (sequencingProperty != null) {
-                                    String atlasPropertyName = omrsPropertyMap.get(sequencingProperty);
-                                    if (atlasPropertyName != null) {
-                                        sb.append(" orderby ");
-                                        sb.append(atlasPropertyName);
-                                        sb.append(" desc");
-                                    } else {
-                                        log.warn("Unable to find mapped Atlas property for sorting for: {}", sequencingProperty);
-                                        sb.append(" orderby __guid asc");
-                                    }
+                            } else {
+                                log.warn("No property for sorting provided, defaulting to GUID.");
+                                sb.append(" orderby __guid asc");
+                            }
+                            break;
+                        case PROPERTY_DESCENDING:
+                            if (sequencingProperty != null) {
+                                String atlasPropertyName = omrsPropertyMap.get(sequencingProperty);
+                                if (atlasPropertyName != null) {
+                                    sb.append(" orderby ");
+                                    sb.append(atlasPropertyName);
+                                    sb.append(" desc");
                                 } else {
-                                    log.warn("No property for sorting provided, defaulting to GUID.");
-                                    sb.append(" orderby __guid desc");
+                                    log.warn("Unable to find mapped Atlas property for sorting for: {}", sequencingProperty);
+                                    sb.append(" orderby __guid asc");
                                 }
-                                break;
-                            default:
-                                // Do nothing -- no sorting
-                                break;
-                        }
-                    }
-
-                    // Add paging criteria, if requested
-                    if (pageSize > 0) {
-                        sb.append(" limit ");
-                        sb.append(pageSize);
-                    }
-                    // TODO: can we use fromEntityElement already here if there is a multi-type map?
-                    if (fromEntityElement > 0) {
-                        sb.append(" offset ");
-                        sb.append(fromEntityElement);
-                    }
-
-                    AtlasSearchResult results = null;
-                    try {
-                        results = atlasRepositoryConnector.searchWithDSL(sb.toString());
-                    } catch (AtlasServiceException e) {
-                        raiseRepositoryErrorException(ApacheAtlasOMRSErrorCode.INVALID_SEARCH, methodName, e, sb.toString());
-                    }
-                    if (results != null) {
-                        totalResults.add(results);
+                            } else {
+                                log.warn("No property for sorting provided, defaulting to GUID.");
+                                sb.append(" orderby __guid desc");
+                            }
+                            break;
+                        default:
+                            // Do nothing -- no sorting
+                            break;
                     }
                 }
 
+                queries.add(sb.toString());
             }
+
         }
 
-        return combineMultipleResults(totalResults);
+        return queries;
+
+    }
 
+    /**
+     * Add paging criteria to an Atlas domain-specific language (DSL) query.
+     *
+     * @param query the query to page
+     * @param offset the number of results from the query to skip
+     * @param limit the maximum number of results to return (or 0 for all)
+     * @return String the paged query
+     */
+    private String pageDSLSearch(String query, int offset, int limit) {
+        StringBuilder sb = new StringBuilder(query);
+        if (limit > 0) {
+            sb.append(" limit ");
+            sb.append(limit);
+        }
+        if (offset > 0) {
+            sb.append(" offset ");
+            sb.append(offset);
+        }
+        return sb.toString();
     }
 
     /**
-     * Build an Atlas basic search based on the provided parameters, and return its results.
+     * Build an Atlas basic search for each Apache Atlas type to be searched, based on the provided parameters. The
+     * searches are not yet paged (see pageBasicSearch).
      *
      * @param entityTypeGUID unique identifier for the type of entity requested.  Null means any type of entity
      *                       (but could be slow so not recommended.
@@ -1939,208 +2314,1636 @@ public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBas
      * @param matchCriteria Enum defining how the match properties should be matched to the classifications in the repository.
      * @param fullTextQuery Optional text that should be searched for in all text fields of the entities (mutually-exclusive
      *                      with matchProperties)
-     * @param fromEntityElement the starting element number of the entities to return.
-     *                                This is used when retrieving elements
-     *                                beyond the first page of results. Zero means start from the first element.
      * @param limitResultsByStatus By default, entities in all statuses are returned.  However, it is possible
      *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
      *                             status values.
-     * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
-     *                 unrestricted return results size.
      * @param userId the user through which to run the search
-     * @return {@code List<EntityDetail>}
+     * @return {@code List<SearchParameters>}
      * @throws FunctionNotSupportedException when attempting to search based on a status that is not supported in Atlas
      * @throws RepositoryErrorException when unable to run the search against Apache Atlas
      */
-    private List<AtlasEntityHeader> buildAndRunBasicSearch(String methodName,
-                                                           String entityTypeGUID,
-                                                           String limitResultsByClassification,
-                                                           InstanceProperties matchProperties,
-                                                           MatchCriteria matchCriteria,
-                                                           String fullTextQuery,
-                                                           int fromEntityElement,
-                                                           List<InstanceStatus> limitResultsByStatus,
-                                                           int pageSize,
-                                                           String userId) throws
+    private List<SearchParameters> buildBasicSearches(String entityTypeGUID,
+                                                      String limitResultsByClassification,
+                                                      InstanceProperties matchProperties,
+                                                      MatchCriteria matchCriteria,
+                                                      String fullTextQuery,
+                                                      List<InstanceStatus> limitResultsByStatus,
+                                                      String userId) throws
             FunctionNotSupportedException,
             RepositoryErrorException {
 
         // Run multiple searches, if there are multiple types mapped to the OMRS type...
-        Map<String, Map<String, String>> mappingsToSearch = getMappingsToSearch(entityTypeGUID, userId);
-        List<AtlasSearchResult> totalResults = new ArrayList<>();
-        for (Map.Entry<String, Map<String, String>> entryToSearch : mappingsToSearch.entrySet()) {
-            String omrsTypeName = entryToSearch.getKey();
-            Map<String, String> atlasTypeNamesByPrefix = entryToSearch.getValue();
+        List<SearchParameters> searches = new ArrayList<>();
+        for (SearchMapping mapping : getSearchPlan(entityTypeGUID, userId)) {
+            SearchParameters searchParameters = buildBasicSearch(
+                    mapping,
+                    entityTypeGUID,
+                    limitResultsByClassification,
+                    matchProperties,
+                    matchCriteria,
+                    fullTextQuery,
+                    limitResultsByStatus
+            );
+            if (searchParameters != null) {
+                searches.add(searchParameters);
+            }
+        }
 
-            for (Map.Entry<String, String> entry : atlasTypeNamesByPrefix.entrySet()) {
+        return searches;
 
-                String prefix = entry.getKey();
-                String atlasTypeName = entry.getValue();
+    }
 
-                // Otherwise Atlas's "basic" search is likely to be significantly faster
-                SearchParameters searchParameters = new SearchParameters();
-                if (atlasTypeName != null) {
-                    searchParameters.setTypeName(atlasTypeName);
-                }
-                searchParameters.setIncludeClassificationAttributes(true);
-                searchParameters.setIncludeSubClassifications(true);
-                searchParameters.setIncludeSubTypes(true);
-                // TODO: can we use fromEntityElement already here if there is a multi-type map?
-                searchParameters.setOffset(fromEntityElement);
-                searchParameters.setLimit(pageSize);
+    /**
+     * Build an Atlas basic search (without any paging) against the single Apache Atlas type of the provided mapping.
+     *
+     * @param mapping the Apache Atlas type to search, and how to translate the search criteria for it
+     * @param entityTypeGUID the GUID of the OMRS entity type being searched (for logging)
+     * @param limitResultsByClassification the name of the classification by which to limit the results (or null)
+     * @param matchProperties the properties to match (or null)
+     * @param matchCriteria how the properties should be matched
+     * @param fullTextQuery the value to match across all string properties (or null)
+     * @param limitResultsByStatus the statuses to which to limit the results (or null for all)
+     * @return SearchParameters, or null if the search cannot return any results and should be skipped
+     * @throws FunctionNotSupportedException when a regular expression is used for the search that is not supported
+     */
+    private SearchParameters buildBasicSearch(SearchMapping mapping,
+                                              String entityTypeGUID,
+                                              String limitResultsByClassification,
+                                              InstanceProperties matchProperties,
+                                              MatchCriteria matchCriteria,
+                                              String fullTextQuery,
+                                              List<InstanceStatus> limitResultsByStatus) throws
+            FunctionNotSupportedException {
+
+        String atlasTypeName = mapping.getAtlasTypeName();
+
+        // Otherwise Atlas's "basic" search is likely to be significantly faster
+        SearchParameters searchParameters = new SearchParameters();
+        if (atlasTypeName != null) {
+            searchParameters.setTypeName(atlasTypeName);
+        }
+        searchParameters.setIncludeClassificationAttributes(true);
+        searchParameters.setIncludeSubClassifications(true);
+        searchParameters.setIncludeSubTypes(true);
+        if (atlasTypeName != null && atlasRepositoryConnector.isHeaderOnlyMapping()) {
+            // Ask for the mapped attributes to be included in the results, so that they can be translated
+            // without retrieving each entity in full (results are always translated without a prefix)
+            searchParameters.setAttributes(EntityMappingAtlas2OMRS.getAttributesForHeaderMapping(typeDefStore, atlasTypeName, null));
+        }
 
-                Map<String, String> omrsPropertyMap = typeDefStore.getPropertyMappingsForOMRSTypeDef(omrsTypeName, prefix);
-                Map<String, TypeDefAttribute> omrsAttrTypeDefs = typeDefStore.getAllTypeDefAttributesForName(omrsTypeName);
-                List<SearchParameters.FilterCriteria> criteria = new ArrayList<>();
-
-                boolean skipSearch = false;
-                if (matchProperties != null) {
-                    Map<String, InstancePropertyValue> properties = matchProperties.getInstanceProperties();
-                    // By default, include only Referenceable's properties (as these will be the only properties that exist
-                    // across ALL entity types)
-                    if (properties != null) {
-                        for (Map.Entry<String, InstancePropertyValue> property : properties.entrySet()) {
-                            String omrsPropertyName = property.getKey();
-                            InstancePropertyValue value = property.getValue();
-                            boolean added = addSearchConditionFromValue(
-                                    criteria,
-                                    omrsPropertyName,
-                                    value,
-                                    omrsPropertyMap,
-                                    omrsAttrTypeDefs,
-                                    (matchCriteria != null) && matchCriteria.equals(MatchCriteria.NONE),
-                                    false
-                            );
-                            if (!added) {
-                                if (matchCriteria == null || matchCriteria.equals(MatchCriteria.ALL)) {
-                                    // If we are asked to find everything, but one of the properties cannot be searched,
-                                    // then we should skip the search
-                                    skipSearch = true;
-                                    log.info("Skipping search ({}) -- ALL criteria should match, but this one is unmapped: {}", entityTypeGUID, omrsPropertyName);
-                                }
-                            }
-                        }
-                    }
-                } else if (fullTextQuery != null) {
-
-                    // Note that while it would be great to use the 'setQuery' of Atlas for this, it unfortunately does
-                    // not work for all kinds of cases where things like '.' or '/' are involved (which even appear in
-                    // Atlas's own sample metadata for properties like qualifiedName). Therefore we must do an OR-based
-                    // search explicitly across all string-based properties.
-
-                    // Setup a new PrimitivePropertyValue for the full text itself, that we can use for all of the
-                    // various string attributes
-                    PrimitivePropertyValue primitivePropertyValue = new PrimitivePropertyValue();
-                    primitivePropertyValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
-                    primitivePropertyValue.setPrimitiveValue(fullTextQuery);
-                    primitivePropertyValue.setTypeName(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING.getName());
-                    primitivePropertyValue.setTypeGUID(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING.getGUID());
-
-                    // Iterate through all of the string attributes, and for any that are actually mapped to OMRS
-                    // add a search condition for them
-                    for (Map.Entry<String, TypeDefAttribute> mapEntry : omrsAttrTypeDefs.entrySet()) {
-                        String omrsPropertyName = mapEntry.getKey();
-                        TypeDefAttribute typeDefAttribute = mapEntry.getValue();
-                        log.debug("Considering attribute: {}", omrsPropertyName);
-                        AttributeTypeDef attributeTypeDef = typeDefAttribute.getAttributeType();
-                        if (attributeTypeDef.getCategory().equals(AttributeTypeDefCategory.PRIMITIVE)) {
-                            PrimitiveDef primitiveDef = (PrimitiveDef) attributeTypeDef;
-                            if (primitiveDef.getPrimitiveDefCategory().equals(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING)) {
-                                log.debug(" ... attribute is a String, continuing ...");
-                                if (omrsPropertyMap.containsKey(omrsPropertyName)) {
-                                    String atlasPropertyName = omrsPropertyMap.get(omrsPropertyName);
-                                    log.debug(" ... attribute is mapped, to: {}", atlasPropertyName);
-                                    if (atlasPropertyName != null) {
-                                        log.debug(" ... adding criterion for value: {}", primitivePropertyValue);
-                                        boolean added = addSearchConditionFromValue(
-                                                criteria,
-                                                omrsPropertyName,
-                                                primitivePropertyValue,
-                                                omrsPropertyMap,
-                                                omrsAttrTypeDefs,
-                                                (matchCriteria != null) && matchCriteria.equals(MatchCriteria.NONE),
-                                                false
-                                        );
-                                        if (!added) {
-                                            if (matchCriteria == null || matchCriteria.equals(MatchCriteria.ALL)) {
-                                                // If we are asked to find everything, but one of the properties cannot be searched,
-                                                // then we should skip the search
-                                                skipSearch = true;
-                                                log.info("Skipping search ({}) -- ALL criteria should match, but this one is unmapped: {}", entityTypeGUID, omrsPropertyName);
-                                            }
-                                        }
-                                    }
-                                }
-                            }
+        Map<String, String> omrsPropertyMap = mapping.getOmrsPropertyMap();
+        Map<String, TypeDefAttribute> omrsAttrTypeDefs = mapping.getOmrsAttributeDefs();
+        List<SearchParameters.FilterCriteria> criteria = new ArrayList<>();
+
+        boolean skipSearch = false;
+        if (matchProperties != null) {
+            Map<String, InstancePropertyValue> properties = matchProperties.getInstanceProperties();
+            // By default, include only Referenceable's properties (as these will be the only properties that exist
+            // across ALL entity types)
+            if (properties != null) {
+                for (Map.Entry<String, InstancePropertyValue> property : properties.entrySet()) {
+                    String omrsPropertyName = property.getKey();
+                    InstancePropertyValue value = property.getValue();
+                    boolean added = addSearchConditionFromValue(
+                            criteria,
+                            omrsPropertyName,
+                            value,
+                            omrsPropertyMap,
+                            omrsAttrTypeDefs,
+                            (matchCriteria != null) && matchCriteria.equals(MatchCriteria.NONE),
+                            false
+                    );
+                    if (!added) {
+                        if (matchCriteria == null || matchCriteria.equals(MatchCriteria.ALL)) {
+                            // If we are asked to find everything, but one of the properties cannot be searched,
+                            // then we should skip the search
+                            skipSearch = true;
+                            log.info("Skipping search ({}) -- ALL criteria should match, but this one is unmapped: {}", entityTypeGUID, omrsPropertyName);
                         }
                     }
                 }
+            }
+        } else if (fullTextQuery != null) {
+
+            // Note that while it would be great to use the 'setQuery' of Atlas for this, it unfortunately does
+            // not work for all kinds of cases where things like '.' or '/' are involved (which even appear in
+            // Atlas's own sample metadata for properties like qualifiedName). Therefore we must do an OR-based
+            // search explicitly across all string-based properties.
+
+            // Add a search condition for each of the string attributes that are actually mapped to OMRS
+            addStringValueCriteria(
+                    criteria,
+                    typeDefStore.getStringAttributeMappingsForOMRSTypeDef(mapping.getOmrsTypeName(), mapping.getPrefix()).values(),
+                    fullTextQuery,
+                    (matchCriteria != null) && matchCriteria.equals(MatchCriteria.NONE)
+            );
+        }
 
-                SearchParameters.FilterCriteria entityFilters = new SearchParameters.FilterCriteria();
-                if (criteria.size() > 1) {
-                    entityFilters.setCriterion(criteria);
-                    if (matchCriteria != null) {
-                        // If matchCriteria were provided, use them
-                        switch (matchCriteria) {
-                            case ALL:
-                            case NONE:
-                                entityFilters.setCondition(SearchParameters.FilterCriteria.Condition.AND);
-                                break;
-                            case ANY:
-                                entityFilters.setCondition(SearchParameters.FilterCriteria.Condition.OR);
-                                break;
-                        }
-                    } else if (fullTextQuery != null) {
-                        // If none were provided, but a fullTextQuery was, we should use an OR-based semantic
-                        entityFilters.setCondition(SearchParameters.FilterCriteria.Condition.OR);
-                    } else {
-                        // Otherwise we should default to an AND-based semantic
+        SearchParameters.FilterCriteria entityFilters = new SearchParameters.FilterCriteria();
+        if (criteria.size() > 1) {
+            entityFilters.setCriterion(criteria);
+            if (matchCriteria != null) {
+                // If matchCriteria were provided, use them
+                switch (matchCriteria) {
+                    case ALL:
+                    case NONE:
                         entityFilters.setCondition(SearchParameters.FilterCriteria.Condition.AND);
+                        break;
+                    case ANY:
+                        entityFilters.setCondition(SearchParameters.FilterCriteria.Condition.OR);
+                        break;
+                }
+            } else if (fullTextQuery != null) {
+                // If none were provided, but a fullTextQuery was, we should use an OR-based semantic
+                entityFilters.setCondition(SearchParameters.FilterCriteria.Condition.OR);
+            } else {
+                // Otherwise we should default to an AND-based semantic
+                entityFilters.setCondition(SearchParameters.FilterCriteria.Condition.AND);
+            }
+        } else if (criteria.size() == 1) {
+            entityFilters = criteria.get(0);
+        }
+        searchParameters.setEntityFilters(entityFilters);
+
+        if (limitResultsByStatus != null) {
+            Set<InstanceStatus> limitSet = new HashSet<>(limitResultsByStatus);
+            if (limitSet.equals(availableStates) || (limitSet.size() == 1 && limitSet.contains(InstanceStatus.DELETED))) {
+                // If we're to search for deleted, do not exclude deleted
+                searchParameters.setExcludeDeletedEntities(false);
+            } else if (limitSet.size() == 1 && limitSet.contains(InstanceStatus.ACTIVE)) {
+                // Otherwise if we are only after active, do exclude deleted
+                searchParameters.setExcludeDeletedEntities(true);
+            } else if (!limitSet.isEmpty()) {
+                // Otherwise we must be searching only for states that Atlas does not support, so we should ensure
+                // that no results are returned (by skipping the search entirely).
+                skipSearch = true;
+                log.info("Skipping search ({}) -- searching for unsupported states: {}", entityTypeGUID, limitSet);
+            }
+        }
+
+        if (skipSearch) {
+            return null;
+        }
+
+        if (limitResultsByClassification != null) {
+            searchParameters.setClassification(limitResultsByClassification);
+        }
+
+        return searchParameters;
+
+    }
+
+    /**
+     * Build the Atlas basic searches (without any paging) for the provided value across the string attributes of every
+     * Apache Atlas type mapped to the provided OMRS type. Where requested, the searches of any types that have the same
+     * string attributes are merged into a single search of their nearest common Apache Atlas supertype (where those
+     * attributes are all defined on that supertype): each merged search must then be filtered to only the results of
+     * the types it replaces (or their subtypes).
+     *
+     * @param entityTypeGUID the OMRS entity type to search (or null for all)
+     * @param searchCriteria the (regular expression) value to match
+     * @param limitResultsByClassification the name of the classification by which to limit the results (or null)
+     * @param limitResultsByStatus the statuses to which to limit the results (or null for all)
+     * @param merge whether to merge the searches of types with the same string attributes (true) or not (false)
+     * @param filters to which to add the filter for the results of each search (null if they need no filtering)
+     * @param userId the user through which to run the search
+     * @return {@code List<SearchParameters>}
+     * @throws FunctionNotSupportedException when a regular expression is used for the search that is not supported
+     * @throws RepositoryErrorException when unable to determine the types to search
+     */
+    private List<SearchParameters> buildPropertyValueSearches(String entityTypeGUID,
+                                                              String searchCriteria,
+                                                              String limitResultsByClassification,
+                                                              List<InstanceStatus> limitResultsByStatus,
+                                                              boolean merge,
+                                                              List<Predicate<AtlasEntityHeader>> filters,
+                                                              String userId) throws
+            FunctionNotSupportedException,
+            RepositoryErrorException {
+
+        // Group the Apache Atlas types to search by the (Apache Atlas) string attributes to search within each (a type
+        // without any string attributes cannot match the value, so need not be searched)
+        Map<Set<String>, Set<String>> typesByAttributes = new LinkedHashMap<>();
+        for (SearchMapping mapping : getSearchPlan(entityTypeGUID, userId)) {
+            String atlasTypeName = mapping.getAtlasTypeName();
+            Set<String> attributes = new TreeSet<>(typeDefStore.getStringAttributeMappingsForOMRSTypeDef(mapping.getOmrsTypeName(), mapping.getPrefix()).values());
+            if (atlasTypeName != null && !attributes.isEmpty()) {
+                typesByAttributes.computeIfAbsent(attributes, k -> new LinkedHashSet<>()).add(atlasTypeName);
+            }
+        }
+
+        List<SearchParameters> searches = new ArrayList<>();
+        for (Map.Entry<Set<String>, Set<String>> group : typesByAttributes.entrySet()) {
+            Set<String> attributes = group.getKey();
+            Set<String> atlasTypeNames = group.getValue();
+            String superType = merge && atlasTypeNames.size() > 1 ? getCommonAtlasSuperType(atlasTypeNames, attributes) : null;
+            if (superType != null) {
+                log.debug("Merging search of types {} into a search of: {}", atlasTypeNames, superType);
+                SearchParameters searchParameters = buildPropertyValueSearch(superType, attributes, searchCriteria, entityTypeGUID, limitResultsByClassification, limitResultsByStatus);
+                if (searchParameters != null) {
+                    if (atlasRepositoryConnector.isHeaderOnlyMapping()) {
+                        Set<String> headerAttributes = new LinkedHashSet<>();
+                        for (String atlasTypeName : atlasTypeNames) {
+                            headerAttributes.addAll(EntityMappingAtlas2OMRS.getAttributesForHeaderMapping(typeDefStore, atlasTypeName, null));
+                        }
+                        searchParameters.setAttributes(headerAttributes);
+                    }
+                    searches.add(searchParameters);
+                    filters.add(header -> !Collections.disjoint(atlasRepositoryConnector.getAtlasEntityTypeAndSuperTypes(header.getTypeName()), atlasTypeNames));
+                }
+            } else {
+                for (String atlasTypeName : atlasTypeNames) {
+                    SearchParameters searchParameters = buildPropertyValueSearch(atlasTypeName, attributes, searchCriteria, entityTypeGUID, limitResultsByClassification, limitResultsByStatus);
+                    if (searchParameters != null) {
+                        searches.add(searchParameters);
+                        filters.add(null);
                     }
-                } else if (criteria.size() == 1) {
-                    entityFilters = criteria.get(0);
                 }
+            }
+        }
+        return searches;
+
+    }
+
+    /**
+     * Retrieve the nearest Apache Atlas supertype common to all of the provided Apache Atlas types, on which all of the
+     * provided attributes are defined.
+     *
+     * @param atlasTypeNames the Apache Atlas types
+     * @param attributes the Apache Atlas attributes that must be defined on the supertype
+     * @return String the name of the supertype, or null if there is none
+     */
+    private String getCommonAtlasSuperType(Set<String> atlasTypeNames, Set<String> attributes) {
+        Iterator<String> types = atlasTypeNames.iterator();
+        // Supertypes of the first type are visited nearest first, so the first one that qualifies is the nearest
+        for (String candidate : atlasRepositoryConnector.getAtlasEntityTypeAndSuperTypes(types.next())) {
+            boolean common = true;
+            for (String atlasTypeName : atlasTypeNames) {
+                common = common && atlasRepositoryConnector.getAtlasEntityTypeAndSuperTypes(atlasTypeName).contains(candidate);
+            }
+            for (String attribute : attributes) {
+                common = common && atlasRepositoryConnector.isAtlasEntityAttributeDefined(candidate, attribute);
+            }
+            if (common) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Build an Atlas basic search (without any paging) for the provided value across the provided attributes of a
+     * single Apache Atlas type.
+     *
+     * @param atlasTypeName the Apache Atlas type to search
+     * @param attributes the Apache Atlas attributes in which to search for the value
+     * @param searchCriteria the (regular expression) value to match
+     * @param entityTypeGUID the GUID of the OMRS entity type being searched (for logging)
+     * @param limitResultsByClassification the name of the classification by which to limit the results (or null)
+     * @param limitResultsByStatus the statuses to which to limit the results (or null for all)
+     * @return SearchParameters, or null if the search cannot return any results and should be skipped
+     * @throws FunctionNotSupportedException when a regular expression is used for the search that is not supported
+     */
+    private SearchParameters buildPropertyValueSearch(String atlasTypeName,
+                                                      Set<String> attributes,
+                                                      String searchCriteria,
+                                                      String entityTypeGUID,
+                                                      String limitResultsByClassification,
+                                                      List<InstanceStatus> limitResultsByStatus) throws
+            FunctionNotSupportedException {
+
+        SearchParameters searchParameters = buildBasicSearch(
+                new SearchMapping(null, null, null, atlasTypeName, null, null),
+                entityTypeGUID,
+                limitResultsByClassification,
+                null,
+                MatchCriteria.ANY,
+                null,
+                limitResultsByStatus
+        );
+        if (searchParameters != null) {
+            List<SearchParameters.FilterCriteria> criteria = new ArrayList<>();
+            addStringValueCriteria(criteria, attributes, searchCriteria, false);
+            if (criteria.size() == 1) {
+                searchParameters.setEntityFilters(criteria.get(0));
+            } else {
+                SearchParameters.FilterCriteria entityFilters = new SearchParameters.FilterCriteria();
+                entityFilters.setCriterion(criteria);
+                entityFilters.setCondition(SearchParameters.FilterCriteria.Condition.OR);
                 searchParameters.setEntityFilters(entityFilters);
+            }
+        }
+        return searchParameters;
+
+    }
+
+    /**
+     * Add a search condition for the provided string value against each of the provided Apache Atlas attributes. The
+     * condition is only translated once, and then repeated for each attribute.
+     *
+     * @param criteria the search criteria to which to append
+     * @param atlasPropertyNames the Apache Atlas attributes to search
+     * @param value the (regular expression) value for which to search
+     * @param negateCondition if true, negate (invert) the condition / operator
+     * @throws FunctionNotSupportedException when a regular expression is used for the search that is not supported
+     */
+    private void addStringValueCriteria(List<SearchParameters.FilterCriteria> criteria,
+                                        Collection<String> atlasPropertyNames,
+                                        String value,
+                                        boolean negateCondition) throws FunctionNotSupportedException {
+
+        if (atlasPropertyNames.isEmpty()) {
+            return;
+        }
+
+        PrimitivePropertyValue primitivePropertyValue = new PrimitivePropertyValue();
+        primitivePropertyValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+        primitivePropertyValue.setPrimitiveValue(value);
+        primitivePropertyValue.setTypeName(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING.getName());
+        primitivePropertyValue.setTypeGUID(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING.getGUID());
+
+        List<SearchParameters.FilterCriteria> translated = new ArrayList<>(1);
+        String first = atlasPropertyNames.iterator().next();
+        addSearchConditionFromValue(
+                translated,
+                first,
+                primitivePropertyValue,
+                Collections.singletonMap(first, first),
+                Collections.emptyMap(),
+                negateCondition,
+                false
+        );
+        SearchParameters.FilterCriteria condition = translated.get(0);
+        for (String atlasPropertyName : atlasPropertyNames) {
+            SearchParameters.FilterCriteria criterion = new SearchParameters.FilterCriteria();
+            criterion.setAttributeName(atlasPropertyName);
+            criterion.setOperator(condition.getOperator());
+            criterion.setAttributeValue(condition.getAttributeValue());
+            criteria.add(criterion);
+        }
+
+    }
+
+    /**
+     * Add paging criteria to an Atlas basic search.
+     *
+     * @param searchParameters the search to page
+     * @param offset the number of results from the search to skip
+     * @param limit the maximum number of results to return (or 0 for all)
+     * @return SearchParameters the paged search
+     */
+    private SearchParameters pageBasicSearch(SearchParameters searchParameters, int offset, int limit) {
+        searchParameters.setOffset(offset);
+        searchParameters.setLimit(limit);
+        return searchParameters;
+    }
+
+    /**
+     * Translate the provided basic searches for a value contained in any string attribute into Apache Atlas quick
+     * searches. Each quick search narrows its results to those containing the value through the free-text index, and
+     * then applies the same criteria as the basic search (so that the results are the same). The free-text index only
+     * reliably finds a single word, so where the value is anything else (or a search must also limit its results by
+     * classification), the basic searches must be used instead.
+     *
+     * @param searches the (not yet paged) basic searches
+     * @param searchCriteria the contains regex for the value being searched
+     * @return {@code List<QuickSearchParameters>} the equivalent quick searches, or null if the basic searches must be used
+     */
+    private List<QuickSearchParameters> getQuickSearches(List<SearchParameters> searches, String searchCriteria) {
+
+        String value = repositoryHelper.getUnqualifiedLiteralString(searchCriteria);
+        if (value == null || !value.matches("\\p{Alnum}+")) {
+            return null;
+        }
+
+        List<QuickSearchParameters> quickSearches = new ArrayList<>();
+        for (SearchParameters search : searches) {
+            if (search.getClassification() != null || search.getTagFilters() != null) {
+                return null;
+            }
+            QuickSearchParameters quickSearch = new QuickSearchParameters();
+            quickSearch.setQuery("*" + value + "*");
+            quickSearch.setTypeName(search.getTypeName());
+            quickSearch.setIncludeSubTypes(search.getIncludeSubTypes());
+            quickSearch.setExcludeDeletedEntities(search.getExcludeDeletedEntities());
+            quickSearch.setEntityFilters(search.getEntityFilters());
+            quickSearch.setAttributes(search.getAttributes());
+            quickSearches.add(quickSearch);
+        }
+        return quickSearches;
+
+    }
+
+    /**
+     * Add paging criteria to the provided Atlas quick search.
+     *
+     * @param quickSearchParameters the quick search to page
+     * @param offset the number of results to skip
+     * @param limit the maximum number of results to return
+     * @return QuickSearchParameters the paged search
+     */
+    private QuickSearchParameters pageQuickSearch(QuickSearchParameters quickSearchParameters, int offset, int limit) {
+        quickSearchParameters.setOffset(offset);
+        quickSearchParameters.setLimit(limit);
+        return quickSearchParameters;
+    }
+
+    /**
+     * Page each of the provided searches.
+     *
+     * @param searches the searches to page
+     * @param pager the means of paging a single search
+     * @param offsets the number of results to skip for each search
+     * @param limit the maximum number of results to return from each search (or 0 for all)
+     * @param <T> the type of search (a DSL query string or basic search parameters)
+     * @return {@code List<T>} the paged searches
+     */
+    private <T> List<T> pageSearches(List<T> searches, AtlasSearchPager<T> pager, int[] offsets, int limit) {
+        List<T> paged = new ArrayList<>();
+        for (int i = 0; i < searches.size(); i++) {
+            paged.add(pager.page(searches.get(i), offsets[i], limit));
+        }
+        return paged;
+    }
+
+    /**
+     * Retrieve the unique attribute through which each Apache Atlas type to be searched can directly look up the only
+     * entity of that type that could match the provided properties, if the search can be answered this way. It can be
+     * for an exact match on the value of a single string property, where that property is mapped to a unique attribute
+     * (eg. qualifiedName) of every Apache Atlas type to be searched, the results are not limited by classification, and
+     * they are limited to ACTIVE entities: Apache Atlas only looks up ACTIVE entities by unique attribute (and at most
+     * one per type), whereas any number of DELETED entities can share the same value with each other and an ACTIVE one.
+     *
+     * @param entityTypeGUID the type of entity that was requested (or null for all)
+     * @param matchProperties the properties to match
+     * @param matchCriteria how the properties should be matched
+     * @param limitResultsByStatus the statuses by which to limit the results (or null for all)
+     * @param limitResultsByClassification the classifications by which to limit the results (or null for none)
+     * @param userId the user through which to search
+     * @return {@code Map<String, String>} the name of the unique attribute to look up, keyed by Apache Atlas type name,
+     *         or null if the search cannot be answered through unique attributes
+     * @throws RepositoryErrorException on any unexpected error
+     */
+    private Map<String, String> getUniqueAttributesToLookup(String entityTypeGUID,
+                                                           InstanceProperties matchProperties,
+                                                           MatchCriteria matchCriteria,
+                                                           List<InstanceStatus> limitResultsByStatus,
+                                                           List<String> limitResultsByClassification,
+                                                           String userId) throws RepositoryErrorException {
+
+        if ((limitResultsByClassification != null && !limitResultsByClassification.isEmpty())
+                || MatchCriteria.NONE.equals(matchCriteria)
+                || limitResultsByStatus == null
+                || !limitResultsByStatus.contains(InstanceStatus.ACTIVE)
+                || limitResultsByStatus.contains(InstanceStatus.DELETED)) {
+            return null;
+        }
+
+        Map<String, InstancePropertyValue> properties = matchProperties == null ? null : matchProperties.getInstanceProperties();
+        if (properties == null || properties.size() != 1) {
+            return null;
+        }
+        Map.Entry<String, InstancePropertyValue> property = properties.entrySet().iterator().next();
+        if (getExactMatchValue(property.getValue()) == null) {
+            return null;
+        }
+
+        List<SearchMapping> plan = getSearchPlan(entityTypeGUID, userId);
+        if (plan.isEmpty()) {
+            return null;
+        }
+        Map<String, String> uniqueAttributes = new LinkedHashMap<>();
+        for (SearchMapping mapping : plan) {
+            Map<String, String> omrsPropertyMap = mapping.getOmrsPropertyMap();
+            String atlasPropertyName = omrsPropertyMap == null ? null : omrsPropertyMap.get(property.getKey());
+            // Generated entities do not exist as such in Apache Atlas, so cannot be looked up directly
+            if (mapping.getPrefix() != null
+                    || atlasPropertyName == null
+                    || !atlasRepositoryConnector.isAtlasEntityAttributeUnique(mapping.getAtlasTypeName(), atlasPropertyName)) {
+                return null;
+            }
+            uniqueAttributes.put(mapping.getAtlasTypeName(), atlasPropertyName);
+        }
+        return uniqueAttributes;
+
+    }
+
+    /**
+     * Retrieve the literal value of the provided property value, if it is a string that must be matched exactly.
+     *
+     * @param value the property value
+     * @return String the literal value, or null if it is not an exact-match string
+     */
+    private String getExactMatchValue(InstancePropertyValue value) {
+        if (value instanceof PrimitivePropertyValue) {
+            PrimitivePropertyValue primitive = (PrimitivePropertyValue) value;
+            Object primitiveValue = primitive.getPrimitiveValue();
+            if (PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING.equals(primitive.getPrimitiveDefCategory())
+                    && primitiveValue instanceof String
+                    && repositoryHelper.isExactMatchRegex((String) primitiveValue)) {
+                return repositoryHelper.getUnqualifiedLiteralString((String) primitiveValue);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find the entities that have the provided value for a unique attribute, by looking each one up directly in Apache
+     * Atlas (a single keyed request per Apache Atlas type) rather than searching for them.
+     *
+     * @param methodName the name of the calling method
+     * @param uniqueAttributes the name of the unique attribute to look up, keyed by Apache Atlas type name
+     * @param value the value of the unique attribute
+     * @param entityTypeGUID the type of entity that was requested (or null for all)
+     * @param limitResultsByStatus the statuses by which to limit the results (or null for all)
+     * @param fromEntityElement the starting element of the requested page
+     * @param sequencingProperty the property by which to sort the results (or null, if not sorting by property)
+     * @param sequencingOrder the order by which to sort the results
+     * @param pageSize the number of results in the requested page (or 0 for all)
+     * @param userId the user through which to translate the results
+     * @return {@code List<EntityDetail>}
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     */
+    private List<EntityDetail> findEntitiesByUniqueAttribute(String methodName,
+                                                             Map<String, String> uniqueAttributes,
+                                                             String value,
+                                                             String entityTypeGUID,
+                                                             List<InstanceStatus> limitResultsByStatus,
+                                                             int fromEntityElement,
+                                                             String sequencingProperty,
+                                                             SequencingOrder sequencingOrder,
+                                                             int pageSize,
+                                                             String userId) throws RepositoryErrorException {
+
+        String requestedTypeName = "Referenceable";
+        if (entityTypeGUID != null) {
+            try {
+                requestedTypeName = repositoryHelper.getTypeDef(repositoryName, "entityTypeGUID", entityTypeGUID, methodName).getName();
+            } catch (TypeErrorException e) {
+                log.error("Unable to find any TypeDef for entityTypeGUID: {}", entityTypeGUID);
+                return Collections.emptyList();
+            }
+        }
+
+        // The same entity is found through each of its types that are searched (eg. when both a type and its
+        // supertype are mapped), so only keep the first
+        Map<String, EntityDetail> resultsByGuid = new LinkedHashMap<>();
+        for (Map.Entry<String, String> uniqueAttribute : uniqueAttributes.entrySet()) {
+            String atlasTypeName = uniqueAttribute.getKey();
+            AtlasEntity.AtlasEntityWithExtInfo entity = null;
+            try {
+                entity = atlasRepositoryConnector.getEntityByUniqueAttribute(atlasTypeName, uniqueAttribute.getValue(), value, EntityRetrievalProfile.ENTITY);
+            } catch (AtlasServiceException e) {
+                raiseRepositoryErrorException(ApacheAtlasOMRSErrorCode.INVALID_SEARCH, methodName, e, atlasTypeName + "." + uniqueAttribute.getValue() + "=" + value);
+            }
+            if (entity != null && entity.getEntity() != null && !resultsByGuid.containsKey(entity.getEntity().getGuid())) {
+                String guid = entity.getEntity().getGuid();
+                EntityDetail detail = getMappedEntityDetail(AtlasGuid.fromGuid(guid), entity, userId);
+                if (detail != null
+                        && repositoryHelper.isTypeOf(repositoryName, detail.getType().getTypeDefName(), requestedTypeName)
+                        && (limitResultsByStatus == null || limitResultsByStatus.isEmpty() || limitResultsByStatus.contains(detail.getStatus()))) {
+                    resultsByGuid.put(guid, detail);
+                }
+            }
+        }
+
+        List<EntityDetail> results = new ArrayList<>(resultsByGuid.values());
+        Comparator<EntityDetail> comparator = SequencingUtils.getEntityDetailComparator(sequencingOrder, sequencingProperty);
+        if (comparator != null) {
+            results.sort(comparator);
+        }
+        int endOfPageMarker = pageSize > 0 ? Math.min(fromEntityElement + pageSize, results.size()) : results.size();
+        return results.subList(Math.min(fromEntityElement, endOfPageMarker), endOfPageMarker);
+
+    }
+
+    /**
+     * Retrieve the key under which to remember the results of a search request, normalized so that requests which can
+     * only produce the same results (eg. listing the same statuses in a different order) share the same key.
+     *
+     * @param methodName the name of the search method
+     * @param entityTypeGUID the type of entity that was requested (or null for all)
+     * @param matchProperties the properties to match (or null if there are none)
+     * @param criteria how the properties should be matched, or the search criteria of a search by property value
+     * @param limitResultsByStatus the statuses by which to limit the results (or null for all)
+     * @param limitResultsByClassification the classifications by which to limit the results (or null for none)
+     * @param sequencingProperty the property by which to sort the results (or null, if not sorting by property)
+     * @param sequencingOrder the order by which to sort the results
+     * @param fromEntityElement the starting element of the requested page
+     * @param pageSize the number of results in the requested page (or 0 for all)
+     * @return String the key, or null if search results are not being remembered
+     */
+    private String getQueryResultKey(String methodName,
+                                     String entityTypeGUID,
+                                     InstanceProperties matchProperties,
+                                     String criteria,
+                                     List<InstanceStatus> limitResultsByStatus,
+                                     List<String> limitResultsByClassification,
+                                     String sequencingProperty,
+                                     SequencingOrder sequencingOrder,
+                                     int fromEntityElement,
+                                     int pageSize) {
+
+        if (!queryResults.isEnabled()) {
+            return null;
+        }
+
+        Map<String, String> properties = new TreeMap<>();
+        if (matchProperties != null && matchProperties.getInstanceProperties() != null) {
+            for (Map.Entry<String, InstancePropertyValue> property : matchProperties.getInstanceProperties().entrySet()) {
+                properties.put(property.getKey(), String.valueOf(property.getValue()));
+            }
+        }
+        Set<String> statuses = new TreeSet<>();
+        if (limitResultsByStatus != null) {
+            for (InstanceStatus status : limitResultsByStatus) {
+                statuses.add(String.valueOf(status));
+            }
+        }
+        Set<String> classifications = limitResultsByClassification == null ? Collections.emptySet() : new TreeSet<>(limitResultsByClassification);
+
+        // Any change to the TypeDefs could change how (and which types) the same request would be searched
+        return methodName +
+                "|" + typeDefStore.getChangeCount() +
+                "|" + entityTypeGUID +
+                "|" + properties +
+                "|" + criteria +
+                "|" + statuses +
+                "|" + classifications +
+                "|" + sequencingProperty +
+                "|" + sequencingOrder +
+                "|" + fromEntityElement +
+                "|" + pageSize;
+
+    }
+
+    /**
+     * Retrieve the remembered results of an identical search request, if there are any.
+     *
+     * @param queryKey the key of the search request (or null if search results are not being remembered)
+     * @return {@code List<EntityDetail>} a copy of the results (empty if there were none), or null if there are no
+     *         remembered results for the request
+     */
+    private List<EntityDetail> getCachedQueryResults(String queryKey) {
+        CachedQueryResult cached = queryKey == null ? null : queryResults.get(queryKey);
+        if (cached != null) {
+            log.debug("Answering search from remembered results: {}", queryKey);
+            return cached.getResults();
+        }
+        return null;
+    }
+
+    /**
+     * Remember the results of a search request, along with the Apache Atlas types it searched, unless any remembered
+     * results were invalidated while the search was running (in which case its results may already be out-of-date).
+     *
+     * @param queryKey the key of the search request (or null if search results are not being remembered)
+     * @param queryInvalidations the number of invalidations of remembered results before the search was run
+     * @param entityTypeGUID the type of entity that was requested (or null for all)
+     * @param entityDetails the results of the search
+     * @param userId the user through which the search was run
+     * @throws RepositoryErrorException on any unexpected error
+     */
+    private void cacheQueryResults(String queryKey,
+                                   long queryInvalidations,
+                                   String entityTypeGUID,
+                                   List<EntityDetail> entityDetails,
+                                   String userId) throws RepositoryErrorException {
+        if (queryKey != null) {
+            Set<String> atlasTypeNames = getSearchedAtlasTypeNames(entityTypeGUID, userId);
+            if (queryResultInvalidations.get() == queryInvalidations) {
+                queryResults.put(queryKey, new CachedQueryResult(entityDetails, atlasTypeNames));
+            }
+        }
+    }
+
+    /**
+     * Retrieve the names of the Apache Atlas types that are searched for entities of the provided type.
+     *
+     * @param entityTypeGUID the type of entity that was requested (or null for all)
+     * @param userId the user through which the search was run
+     * @return {@code Set<String>}
+     * @throws RepositoryErrorException on any unexpected error
+     */
+    private Set<String> getSearchedAtlasTypeNames(String entityTypeGUID, String userId) throws RepositoryErrorException {
+        Set<String> atlasTypeNames = new HashSet<>();
+        for (SearchMapping mapping : getSearchPlan(entityTypeGUID, userId)) {
+            atlasTypeNames.add(mapping.getAtlasTypeName());
+        }
+        return atlasTypeNames;
+    }
+
+    /**
+     * Ensure that any remembered search results (or paging sessions) that could include an entity of the provided Apache
+     * Atlas type (because that type, or one of its supertypes, was searched) are no longer used, for example because
+     * such an entity has been created or changed in Apache Atlas.
+     *
+     * @param atlasTypeName the name of the Apache Atlas type of the entity that has changed (or null if not known)
+     */
+    public void invalidateCachedQueryResults(String atlasTypeName) {
+        if (queryResults.isEnabled() || pagingSessions.isEnabled()) {
+            queryResultInvalidations.incrementAndGet();
+            Set<String> affectedTypeNames = atlasTypeName == null ? Collections.emptySet() : atlasRepositoryConnector.getAtlasEntityTypeAndSuperTypes(atlasTypeName);
+            if (affectedTypeNames.isEmpty()) {
+                // Without knowing the type's supertypes, any remembered results could be affected
+                queryResults.clear();
+                pagingSessions.clear();
+            } else {
+                queryResults.removeValuesIf(cached -> !Collections.disjoint(cached.getAtlasTypeNames(), affectedTypeNames));
+                pagingSessions.removeValuesIf(session -> !Collections.disjoint(session.getAtlasTypeNames(), affectedTypeNames));
+            }
+        }
+    }
+
+    /**
+     * Retrieve the number of results each search must return to be certain of covering the requested page, once the
+     * results of all of the searches are combined.
+     *
+     * @param fromEntityElement the starting element of the requested page
+     * @param pageSize the number of results in the requested page (or 0 for all)
+     * @return int the limit for each search (or 0 for all)
+     */
+    private int getLimitToEndOfPage(int fromEntityElement, int pageSize) {
+        return pageSize > 0 ? fromEntityElement + pageSize : 0;
+    }
+
+    /**
+     * Run the provided searches and return the requested page of their combined results. A single search is paged
+     * directly by Apache Atlas. Multiple searches whose results can be merged in order are each tracked by their own
+     * offset: once a page has been returned, a continuation records where each search reached, so that a request for
+     * the next page resumes every search from there (rather than searching again from the first result). Without a
+     * continuation, each search returns the results up to the end of the page, and these are combined and limited.
+     *
+     * @param methodName the name of the calling method
+     * @param searches the (not yet paged) searches to run
+     * @param pager the means of paging a single search
+     * @param runner the means of running a single search against Apache Atlas
+     * @param entityTypeGUID the type of entity that was requested (or null for all)
+     * @param fromEntityElement the starting element of the requested page
+     * @param sequencingProperty the property by which to sort the results (or null, if not sorting by property)
+     * @param sequencingOrder the order by which to sort the results
+     * @param pageSize the number of results to include in the page (or 0 for all)
+     * @param userId the user through which to translate the results
+     * @param <T> the type of search (a DSL query string or basic search parameters)
+     * @return {@code List<EntityDetail>}
+     * @throws InvalidParameterException the guid is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    private <T> List<EntityDetail> runPagedSearches(String methodName,
+                                                    List<T> searches,
+                                                    AtlasSearchPager<T> pager,
+                                                    AtlasSearch<T> runner,
+                                                    String entityTypeGUID,
+                                                    int fromEntityElement,
+                                                    String sequencingProperty,
+                                                    SequencingOrder sequencingOrder,
+                                                    int pageSize,
+                                                    String userId) throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            UserNotAuthorizedException {
+
+        if (searches.isEmpty()) {
+            return Collections.emptyList();
+        } else if (pageSize <= 0) {
+            // Never ask Atlas for every result at once: stream them through a page at a time instead
+            return streamSearchResults(
+                    methodName,
+                    searches,
+                    pager,
+                    runner,
+                    Collections.nCopies(searches.size(), null),
+                    entityTypeGUID,
+                    fromEntityElement,
+                    sequencingProperty,
+                    sequencingOrder,
+                    userId
+            );
+        } else if (searches.size() == 1) {
+            List<T> paged = pageSearches(searches, pager, new int[]{ fromEntityElement }, pageSize);
+            return sortAndLimitFinalResults(
+                    combineMultipleResults(runSearches(methodName, paged, runner)),
+                    entityTypeGUID,
+                    0,
+                    sequencingProperty,
+                    sequencingOrder,
+                    pageSize,
+                    userId
+            );
+        }
+
+        // Results can only be merged (and therefore continued) when Atlas orders each search in the same way as the
+        // requested order: otherwise every search must be combined and sorted up to the end of the page
+        boolean mergeable = pageSize > 0 && (sequencingOrder == null || isOrderedByAtlas(sequencingOrder));
+        if (!mergeable && pagingSessions.isEnabled()) {
+            return runPagingSession(
+                    methodName,
+                    searches,
+                    pager,
+                    runner,
+                    entityTypeGUID,
+                    fromEntityElement,
+                    sequencingProperty,
+                    sequencingOrder,
+                    pageSize,
+                    userId
+            );
+        }
+        String continuationKey = null;
+        int[] offsets = null;
+        int skip = fromEntityElement;
+        if (mergeable) {
+            continuationKey = getContinuationKey(searches, entityTypeGUID, sequencingOrder);
+            if (fromEntityElement > 0) {
+                offsets = searchContinuations.get(continuationKey + "@" + fromEntityElement);
+                if (offsets != null) {
+                    log.debug("Continuing search from element {} with offsets: {}", fromEntityElement, Arrays.toString(offsets));
+                    skip = 0;
+                }
+            }
+        }
+        if (offsets == null) {
+            offsets = new int[searches.size()];
+        }
+
+        List<AtlasSearchResult> searchResults = runSearches(
+                methodName,
+                pageSearches(searches, pager, offsets, getLimitToEndOfPage(skip, pageSize)),
+                runner
+        );
+
+        if (!mergeable) {
+            return sortAndLimitFinalResults(
+                    combineMultipleResults(searchResults),
+                    entityTypeGUID,
+                    skip,
+                    sequencingProperty,
+                    sequencingOrder,
+                    pageSize,
+                    userId
+            );
+        }
+
+        // Without any ordering, merging simply takes each search's results in turn
+        Comparator<EntityDetail> comparator = SequencingUtils.getEntityDetailComparator(sequencingOrder, null);
+        int[] consumed = new int[searches.size()];
+        List<EntityDetail> page = mergeOrderedResults(
+                searchResults,
+                entityTypeGUID,
+                skip,
+                comparator == null ? (a, b) -> 0 : comparator,
+                pageSize,
+                userId,
+                consumed
+        );
+        if (page.size() == pageSize) {
+            int[] next = new int[offsets.length];
+            for (int i = 0; i < offsets.length; i++) {
+                next[i] = offsets[i] + consumed[i];
+            }
+            searchContinuations.put(continuationKey + "@" + (fromEntityElement + pageSize), next);
+        }
+        return page;
+
+    }
+
+    /**
+     * Return the requested page of the combined results of the provided searches, which Apache Atlas cannot order in the
+     * requested way. The first request for a page of the searches runs each of them in full, and sorts all of their
+     * results: the GUIDs of these (in order) are remembered as a paging session, so that a request for any later page
+     * only needs to retrieve the entities on that page. The session is forgotten as soon as an entity of any of the
+     * searched types changes, and any of its entities that are no longer known are left out of the page. Where there
+     * are too many results to remember (which a probe for the first result beyond the limit of a session reveals for
+     * most searches before they are run in full), only the results up to the end of the page are sorted (as they would
+     * be without a paging session).
+     *
+     * @param methodName the name of the calling method
+     * @param searches the (not yet paged) searches to run
+     * @param pager the means of paging a single search
+     * @param runner the means of running a single search against Apache Atlas
+     * @param entityTypeGUID the type of entity that was requested (or null for all)
+     * @param fromEntityElement the starting element of the requested page
+     * @param sequencingProperty the property by which to sort the results (or null, if not sorting by property)
+     * @param sequencingOrder the order by which to sort the results
+     * @param pageSize the number of results to include in the page
+     * @param userId the user through which to translate the results
+     * @param <T> the type of search (a DSL query string or basic search parameters)
+     * @return {@code List<EntityDetail>}
+     * @throws InvalidParameterException the guid is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    private <T> List<EntityDetail> runPagingSession(String methodName,
+                                                    List<T> searches,
+                                                    AtlasSearchPager<T> pager,
+                                                    AtlasSearch<T> runner,
+                                                    String entityTypeGUID,
+                                                    int fromEntityElement,
+                                                    String sequencingProperty,
+                                                    SequencingOrder sequencingOrder,
+                                                    int pageSize,
+                                                    String userId) throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            UserNotAuthorizedException {
+
+        String sessionKey = getContinuationKey(searches, entityTypeGUID, sequencingOrder) + "|" + sequencingProperty;
+        PagingSession session = pagingSessions.get(sessionKey);
+
+        if (session == null) {
+
+            long queryInvalidations = queryResultInvalidations.get();
+
+            // Probe each search for a result beyond the limit of a session first, so that a search with too many
+            // results to remember is not retrieved in full only to be discarded
+            int[] probeOffsets = new int[searches.size()];
+            Arrays.fill(probeOffsets, MAX_PAGING_SESSION_SIZE);
+            boolean tooManyResults = false;
+            for (AtlasSearchResult probe : runSearches(methodName, pageSearches(searches, pager, probeOffsets, 1), runner)) {
+                if (probe != null && probe.getEntities() != null && !probe.getEntities().isEmpty()) {
+                    tooManyResults = true;
+                }
+            }
+
+            List<AtlasSearchResult> searchResults = null;
+            if (!tooManyResults) {
+                // Each search has no more results than a session can hold, though together they still might
+                searchResults = runSearches(
+                        methodName,
+                        pageSearches(searches, pager, new int[searches.size()], MAX_PAGING_SESSION_SIZE),
+                        runner
+                );
+                int total = 0;
+                for (AtlasSearchResult searchResult : searchResults) {
+                    if (searchResult != null && searchResult.getEntities() != null) {
+                        total += searchResult.getEntities().size();
+                    }
+                }
+                tooManyResults = total > MAX_PAGING_SESSION_SIZE;
+            }
+
+            if (tooManyResults) {
+                // Too many results to remember: only sort those up to the end of the page
+                log.debug("Search has more than {} results, not starting a paging session: {}", MAX_PAGING_SESSION_SIZE, sessionKey);
+                int limit = getLimitToEndOfPage(fromEntityElement, pageSize);
+                if (searchResults == null) {
+                    searchResults = runSearches(
+                            methodName,
+                            pageSearches(searches, pager, new int[searches.size()], limit),
+                            runner
+                    );
+                }
+                List<AtlasEntityHeader> results = new ArrayList<>();
+                for (AtlasSearchResult searchResult : searchResults) {
+                    if (searchResult != null && searchResult.getEntities() != null) {
+                        List<AtlasEntityHeader> entities = searchResult.getEntities();
+                        results.addAll(entities.subList(0, Math.min(limit, entities.size())));
+                    }
+                }
+                return sortAndLimitFinalResults(
+                        results,
+                        entityTypeGUID,
+                        fromEntityElement,
+                        sequencingProperty,
+                        sequencingOrder,
+                        pageSize,
+                        userId
+                );
+            }
+
+            List<EntityDetail> allResults = sortAndLimitFinalResults(
+                    combineMultipleResults(searchResults),
+                    entityTypeGUID,
+                    0,
+                    sequencingProperty,
+                    sequencingOrder,
+                    0,
+                    userId
+            );
+            List<String> guids = new ArrayList<>(allResults.size());
+            for (EntityDetail detail : allResults) {
+                guids.add(detail.getGUID());
+            }
+            // Only start the session if none of the searched entities changed while it was being built
+            if (queryResultInvalidations.get() == queryInvalidations) {
+                pagingSessions.put(sessionKey, new PagingSession(guids, getSearchedAtlasTypeNames(entityTypeGUID, userId)));
+            }
+            int endOfPage = Math.min(fromEntityElement + pageSize, allResults.size());
+            return new ArrayList<>(allResults.subList(Math.min(fromEntityElement, endOfPage), endOfPage));
+
+        }
+
+        List<String> guids = session.getGuids();
+        log.debug("Continuing paging session from element {} of {}: {}", fromEntityElement, guids.size(), sessionKey);
+        int endOfPage = Math.min(fromEntityElement + pageSize, guids.size());
+        List<AtlasEntityHeader> page = new ArrayList<>();
+        for (int i = Math.min(fromEntityElement, endOfPage); i < endOfPage; i++) {
+            AtlasEntityHeader header = new AtlasEntityHeader();
+            header.setGuid(guids.get(i));
+            page.add(header);
+        }
+        // The session only holds results of the requested type, in the requested order, so need only be retrieved
+        // (any that are no longer known to Apache Atlas are left out of the page, rather than failing it)
+        return getEntityDetailsFromAtlasResults(
+                page,
+                entityTypeGUID == null ? typeDefStore.getTypeDefByName("Referenceable").getGUID() : entityTypeGUID,
+                userId
+        );
+
+    }
+
+    /**
+     * Retrieve the key under which to remember where each of the provided searches has reached.
+     *
+     * @param searches the (not yet paged) searches
+     * @param entityTypeGUID the type of entity that was requested (or null for all)
+     * @param sequencingOrder the order by which the results are sorted
+     * @param <T> the type of search (a DSL query string or basic search parameters)
+     * @return String
+     */
+    private <T> String getContinuationKey(List<T> searches, String entityTypeGUID, SequencingOrder sequencingOrder) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(entityTypeGUID);
+        sb.append("|");
+        sb.append(sequencingOrder);
+        for (T search : searches) {
+            sb.append("|");
+            sb.append(search);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Run each of the provided searches against Apache Atlas -- concurrently, where the connector is configured for it.
+     * Either way, the results are returned in the same order as the searches were provided (with a null entry for any
+     * search that Apache Atlas returned nothing for).
+     *
+     * @param methodName the name of the calling method
+     * @param searches the searches to run
+     * @param runner the means of running a single search against Apache Atlas
+     * @param <T> the type of search (a DSL query string or basic search parameters)
+     * @return {@code List<AtlasSearchResult>}
+     * @throws RepositoryErrorException when there is some error running one of the searches against Atlas
+     */
+    private <T> List<AtlasSearchResult> runSearches(String methodName,
+                                                    List<T> searches,
+                                                    AtlasSearch<T> runner) throws RepositoryErrorException {
+
+        List<AtlasSearchResult> totalResults = new ArrayList<>();
+        ExecutorService executor = atlasRepositoryConnector.getSearchExecutor();
+        if (executor == null || searches.size() < 2) {
+            for (T search : searches) {
+                AtlasSearchResult results = null;
+                try {
+                    results = runner.run(search);
+                } catch (AtlasServiceException e) {
+                    raiseRepositoryErrorException(ApacheAtlasOMRSErrorCode.INVALID_SEARCH, methodName, e, search.toString());
+                }
+                totalResults.add(results);
+            }
+        } else {
+            List<Future<AtlasSearchResult>> futures = new ArrayList<>();
+            for (T search : searches) {
+                futures.add(executor.submit(() -> runner.run(search)));
+            }
+            try {
+                for (int i = 0; i < futures.size(); i++) {
+                    try {
+                        totalResults.add(futures.get(i).get());
+                    } catch (ExecutionException e) {
+                        raiseRepositoryErrorException(ApacheAtlasOMRSErrorCode.INVALID_SEARCH, methodName, e.getCause(), searches.get(i).toString());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        raiseRepositoryErrorException(ApacheAtlasOMRSErrorCode.INVALID_SEARCH, methodName, e, searches.get(i).toString());
+                    }
+                }
+            } finally {
+                // Do not leave any remaining searches running if we have given up on the results
+                for (Future<AtlasSearchResult> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+        return totalResults;
+
+    }
+
+    /**
+     * The means of running a single search against Apache Atlas.
+     *
+     * @param <T> the type of search (a DSL query string or basic search parameters)
+     */
+    @FunctionalInterface
+    private interface AtlasSearch<T> {
+        AtlasSearchResult run(T search) throws AtlasServiceException;
+    }
+
+    /**
+     * The means of adding paging criteria to a single search against Apache Atlas.
+     *
+     * @param <T> the type of search (a DSL query string or basic search parameters)
+     */
+    @FunctionalInterface
+    private interface AtlasSearchPager<T> {
+        T page(T search, int offset, int limit);
+    }
+
+    /**
+     * Run the provided searches, keeping only those results that pass the provided filter, until there are enough
+     * filtered results to cover the requested page or the searches have no more results. Each further round of
+     * searching resumes every search that still needs results from where it reached, and asks for as many results as
+     * the selectivity of the filter observed so far suggests are needed to fill the page (within a maximum per round).
+     * The results of each search are kept together, in the order of the searches.
+     *
+     * @param methodName the name of the calling method
+     * @param searches the (not yet paged) searches to run
+     * @param pager the means of paging a single search
+     * @param runner the means of running a single search against Apache Atlas
+     * @param filter the filter each result must pass (or null if every result should be kept)
+     * @param expectedSelectivity the proportion of results expected to pass the filter, before any are observed
+     * @param fromEntityElement the starting element of the requested page
+     * @param pageSize the number of results in the requested page (or 0 for all)
+     * @param sorted whether the results will be sorted before being cut to the requested page (in which case enough
+     *               results are kept from every search to fill the page on its own)
+     * @param <T> the type of search (a DSL query string or basic search parameters)
+     * @return {@code List<AtlasEntityHeader>} the filtered results, up to the end of the requested page (if not sorted)
+     * @throws RepositoryErrorException when there is some error running one of the searches against Atlas
+     */
+    private <T> List<AtlasEntityHeader> runFilteredSearches(String methodName,
+                                                            List<T> searches,
+                                                            AtlasSearchPager<T> pager,
+                                                            AtlasSearch<T> runner,
+                                                            Predicate<AtlasEntityHeader> filter,
+                                                            double expectedSelectivity,
+                                                            int fromEntityElement,
+                                                            int pageSize,
+                                                            boolean sorted) throws RepositoryErrorException {
+        return runFilteredSearches(
+                methodName,
+                searches,
+                pager,
+                runner,
+                Collections.nCopies(searches.size(), filter),
+                expectedSelectivity,
+                fromEntityElement,
+                pageSize,
+                sorted
+        );
+    }
+
+    /**
+     * Run the provided searches, keeping only those results that pass the filter for the search that returned them,
+     * until there are enough filtered results to cover the requested page or the searches have no more results.
+     *
+     * @param methodName the name of the calling method
+     * @param searches the (not yet paged) searches to run
+     * @param pager the means of paging a single search
+     * @param runner the means of running a single search against Apache Atlas
+     * @param filters the filter each result of the corresponding search must pass (or null if every result of that
+     *                search should be kept)
+     * @param expectedSelectivity the proportion of results expected to pass the filters, before any are observed
+     * @param fromEntityElement the starting element of the requested page
+     * @param pageSize the number of results in the requested page (or 0 for all)
+     * @param sorted whether the results will be sorted before being cut to the requested page (in which case enough
+     *               results are kept from every search to fill the page on its own)
+     * @param <T> the type of search (a DSL query string or basic search parameters)
+     * @return {@code List<AtlasEntityHeader>} the filtered results, up to the end of the requested page (if not sorted)
+     * @throws RepositoryErrorException when there is some error running one of the searches against Atlas
+     * @see #runFilteredSearches(String, List, AtlasSearchPager, AtlasSearch, Predicate, double, int, int, boolean)
+     */
+    private <T> List<AtlasEntityHeader> runFilteredSearches(String methodName,
+                                                            List<T> searches,
+                                                            AtlasSearchPager<T> pager,
+                                                            AtlasSearch<T> runner,
+                                                            List<Predicate<AtlasEntityHeader>> filters,
+                                                            double expectedSelectivity,
+                                                            int fromEntityElement,
+                                                            int pageSize,
+                                                            boolean sorted) throws RepositoryErrorException {
+
+        int required = getLimitToEndOfPage(fromEntityElement, pageSize);
+        boolean unfiltered = true;
+        for (Predicate<AtlasEntityHeader> filter : filters) {
+            unfiltered = unfiltered && filter == null;
+        }
+        if (unfiltered || required == 0) {
+            // Without a filter (or a limit) a single round of searching already returns everything needed
+            List<AtlasSearchResult> searchResults = runSearches(
+                    methodName,
+                    pageSearches(searches, pager, new int[searches.size()], required),
+                    runner
+            );
+            if (unfiltered) {
+                return combineMultipleResults(searchResults);
+            }
+            List<AtlasEntityHeader> filtered = new ArrayList<>();
+            for (int i = 0; i < searchResults.size(); i++) {
+                AtlasSearchResult searchResult = searchResults.get(i);
+                if (searchResult != null && searchResult.getEntities() != null) {
+                    Predicate<AtlasEntityHeader> filter = filters.get(i);
+                    for (AtlasEntityHeader result : searchResult.getEntities()) {
+                        if (filter == null || filter.test(result)) {
+                            filtered.add(result);
+                        }
+                    }
+                }
+            }
+            return filtered;
+        }
+
+        int[] offsets = new int[searches.size()];
+        boolean[] exhausted = new boolean[searches.size()];
+        List<Set<String>> seen = new ArrayList<>();
+        List<List<AtlasEntityHeader>> matches = new ArrayList<>();
+        for (int i = 0; i < searches.size(); i++) {
+            seen.add(new HashSet<>());
+            matches.add(new ArrayList<>());
+        }
+        int scanned = 0;
+        int limit = getPostFilterFetchSize(required, expectedSelectivity);
+        List<Integer> needed = getSearchesNeedingResults(matches, exhausted, required, sorted);
+        while (!needed.isEmpty()) {
+
+            List<T> active = new ArrayList<>();
+            for (int index : needed) {
+                active.add(pager.page(searches.get(index), offsets[index], limit));
+            }
+            List<AtlasSearchResult> searchResults = runSearches(methodName, active, runner);
+
+            for (int i = 0; i < searchResults.size(); i++) {
+                int index = needed.get(i);
+                AtlasSearchResult searchResult = searchResults.get(i);
+                List<AtlasEntityHeader> results = searchResult == null ? null : searchResult.getEntities();
+                int count = results == null ? 0 : results.size();
+                int unseen = 0;
+                offsets[index] += count;
+                scanned += count;
+                if (results != null) {
+                    Predicate<AtlasEntityHeader> filter = filters.get(index);
+                    for (AtlasEntityHeader result : results) {
+                        if (seen.get(index).add(result.getGuid())) {
+                            unseen++;
+                            if (filter == null || filter.test(result)) {
+                                matches.get(index).add(result);
+                            }
+                        }
+                    }
+                }
+                // A search that ignored its offset (returning nothing new) can never fill the page either
+                if (count < limit || unseen == 0) {
+                    exhausted[index] = true;
+                }
+            }
+
+            // Size the next round on the selectivity observed so far, for the search furthest from having enough
+            needed = getSearchesNeedingResults(matches, exhausted, required, sorted);
+            if (!needed.isEmpty()) {
+                int kept = 0;
+                for (List<AtlasEntityHeader> searchMatches : matches) {
+                    kept += searchMatches.size();
+                }
+                double selectivity = kept == 0 ? expectedSelectivity / 2 : (double) kept / scanned;
+                int shortfall = 0;
+                for (int index : needed) {
+                    shortfall = Math.max(shortfall, required - getResultCountThrough(matches, index, sorted));
+                }
+                limit = Math.max(limit, getPostFilterFetchSize(shortfall, selectivity));
+                log.debug("Post-filter kept {} of {} results, next fetching {} from each of {} searches", kept, scanned, limit, needed.size());
+            }
+
+        }
+
+        // Every result of one search comes before any of the next, so that the order does not depend on how many
+        // results were fetched in each round (and so is the same from one page to the next)
+        List<AtlasEntityHeader> filtered = new ArrayList<>();
+        Set<String> included = new HashSet<>();
+        for (List<AtlasEntityHeader> searchMatches : matches) {
+            for (AtlasEntityHeader result : searchMatches) {
+                if (included.add(result.getGuid())) {
+                    filtered.add(result);
+                }
+            }
+        }
+        // Results that will be sorted can only be cut to the page once they have been sorted
+        if (sorted) {
+            return filtered;
+        }
+        return filtered.size() > required ? filtered.subList(0, required) : filtered;
+
+    }
+
+    /**
+     * Retrieve the searches that need more results before the requested page can be determined. When the results are
+     * to be sorted, every search that has more results needs enough of its own to fill the page. Otherwise only those
+     * searches whose results (following all of the results of the searches before them) would still be part of the
+     * page need more.
+     *
+     * @param matches the filtered results of each search so far
+     * @param exhausted whether each search has no more results
+     * @param required the number of results needed to cover the requested page
+     * @param sorted whether the results will be sorted (true) or kept in the order of the searches (false)
+     * @return {@code List<Integer>} the indexes of the searches that need more results
+     */
+    private List<Integer> getSearchesNeedingResults(List<List<AtlasEntityHeader>> matches,
+                                                    boolean[] exhausted,
+                                                    int required,
+                                                    boolean sorted) {
+        List<Integer> needed = new ArrayList<>();
+        for (int i = 0; i < matches.size(); i++) {
+            if (!exhausted[i] && getResultCountThrough(matches, i, sorted) < required) {
+                needed.add(i);
+            }
+        }
+        return needed;
+    }
+
+    /**
+     * Retrieve the number of filtered results that count towards filling the page for the search at the provided index:
+     * only its own results when the results are to be sorted, otherwise the distinct results of every search up to and
+     * including it.
+     *
+     * @param matches the filtered results of each search so far
+     * @param index the index of the search
+     * @param sorted whether the results will be sorted (true) or kept in the order of the searches (false)
+     * @return int
+     */
+    private int getResultCountThrough(List<List<AtlasEntityHeader>> matches, int index, boolean sorted) {
+        if (sorted) {
+            return matches.get(index).size();
+        }
+        Set<String> distinct = new HashSet<>();
+        for (int i = 0; i <= index; i++) {
+            for (AtlasEntityHeader result : matches.get(i)) {
+                distinct.add(result.getGuid());
+            }
+        }
+        return distinct.size();
+    }
+
+    /**
+     * Retrieve every result of the provided searches (for a request with no page size), without ever holding more than
+     * a single page of Apache Atlas results at a time. The results are pulled from Apache Atlas a page at a time, each
+     * is filtered by the filter for the search that returned it, and those that remain are translated in batches, so
+     * that only the translated results (which must be returned anyway) accumulate. Results are only sorted (by the
+     * requested order) once they have all been translated, and the results before the starting element are dropped.
+     *
+     * @param methodName the name of the calling method
+     * @param searches the (not yet paged) searches to run
+     * @param pager the means of paging a single search
+     * @param runner the means of running a single search against Apache Atlas
+     * @param filters the filter each result of the corresponding search must pass (or null if every result of that
+     *                search should be kept)
+     * @param entityTypeGUID the type of entity that was requested (or null for all)
+     * @param fromEntityElement the starting element to include in the results
+     * @param sequencingProperty the property by which to sort the results (or null, if not sorting by property)
+     * @param sequencingOrder the order by which to sort the results
+     * @param userId the user through which to translate the results
+     * @param <T> the type of search (a DSL query string or basic search parameters)
+     * @return {@code List<EntityDetail>}
+     * @throws InvalidParameterException the guid is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    private <T> List<EntityDetail> streamSearchResults(String methodName,
+                                                       List<T> searches,
+                                                       AtlasSearchPager<T> pager,
+                                                       AtlasSearch<T> runner,
+                                                       List<Predicate<AtlasEntityHeader>> filters,
+                                                       String entityTypeGUID,
+                                                       int fromEntityElement,
+                                                       String sequencingProperty,
+                                                       SequencingOrder sequencingOrder,
+                                                       String userId) throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            UserNotAuthorizedException {
+
+        // If no entity type GUID was provided (search was done with 'null' originally for all types), then set it here
+        // to the GUID for Referenceable, so that we can properly do subtype checking in the subsequent steps.
+        if (entityTypeGUID == null) {
+            entityTypeGUID = typeDefStore.getTypeDefByName("Referenceable").getGUID();
+        }
+
+        Comparator<EntityDetail> comparator = SequencingUtils.getEntityDetailComparator(sequencingOrder, sequencingProperty);
+        // Without any sorting, the results before the starting element can be dropped as soon as they are translated
+        int skip = comparator == null ? fromEntityElement : 0;
+        int batchSize = Math.max(atlasRepositoryConnector.getBulkFetchBatchSize(), 1);
+
+        AtlasResultStream<T> stream = new AtlasResultStream<>(methodName, searches, pager, runner, filters, STREAMED_SEARCH_PAGE_SIZE);
+        List<AtlasEntityHeader> batch = new ArrayList<>(batchSize);
+        List<EntityDetail> totalResults = new ArrayList<>();
+        while (stream.hasNext()) {
+            batch.add(stream.next());
+            if (batch.size() == batchSize || !stream.hasNext()) {
+                for (EntityDetail detail : getEntityDetailsFromAtlasResults(batch, entityTypeGUID, userId)) {
+                    if (skip > 0) {
+                        skip--;
+                    } else {
+                        totalResults.add(detail);
+                    }
+                }
+                batch.clear();
+            }
+        }
+
+        if (comparator != null) {
+            totalResults.sort(comparator);
+            if (fromEntityElement > 0) {
+                totalResults = new ArrayList<>(totalResults.subList(Math.min(fromEntityElement, totalResults.size()), totalResults.size()));
+            }
+        }
+        return totalResults;
+
+    }
+
+    /**
+     * A source of the (filtered) results of a number of searches, which only pulls a page of results from Apache Atlas
+     * when the previous page has been consumed. Each search is run to its end before the next is started.
+     *
+     * @param <T> the type of search (a DSL query string or basic search parameters)
+     */
+    private final class AtlasResultStream<T> {
+
+        private final String methodName;
+        private final List<T> searches;
+        private final AtlasSearchPager<T> pager;
+        private final AtlasSearch<T> runner;
+        private final List<Predicate<AtlasEntityHeader>> filters;
+        private final int fetchSize;
+
+        private int searchIndex = 0;
+        private int offset = 0;
+        private Set<String> lastPage = Collections.emptySet();
+        private Iterator<AtlasEntityHeader> current = Collections.emptyIterator();
+        private AtlasEntityHeader nextResult = null;
+
+        AtlasResultStream(String methodName,
+                          List<T> searches,
+                          AtlasSearchPager<T> pager,
+                          AtlasSearch<T> runner,
+                          List<Predicate<AtlasEntityHeader>> filters,
+                          int fetchSize) {
+            this.methodName = methodName;
+            this.searches = searches;
+            this.pager = pager;
+            this.runner = runner;
+            this.filters = filters;
+            this.fetchSize = fetchSize;
+        }
 
-                if (limitResultsByStatus != null) {
-                    Set<InstanceStatus> limitSet = new HashSet<>(limitResultsByStatus);
-                    if (limitSet.equals(availableStates) || (limitSet.size() == 1 && limitSet.contains(InstanceStatus.DELETED))) {
-                        // If we're to search for deleted, do not exclude deleted
-                        searchParameters.setExcludeDeletedEntities(false);
-                    } else if (limitSet.size() == 1 && limitSet.contains(InstanceStatus.ACTIVE)) {
-                        // Otherwise if we are only after active, do exclude deleted
-                        searchParameters.setExcludeDeletedEntities(true);
-                    } else if (!limitSet.isEmpty()) {
-                        // Otherwise we must be searching only for states that Atlas does not support, so we should ensure
-                        // that no results are returned (by skipping the search entirely).
-                        skipSearch = true;
-                        log.info("Skipping search ({}) -- searching for unsupported states: {}", entityTypeGUID, limitSet);
+        /**
+         * Indicates whether there is another result (true) or not (false), pulling the next page of results from
+         * Apache Atlas if the current page has been consumed.
+         *
+         * @return boolean
+         * @throws RepositoryErrorException when there is some error running one of the searches against Atlas
+         */
+        boolean hasNext() throws RepositoryErrorException {
+            while (nextResult == null && searchIndex < searches.size()) {
+                if (current == null) {
+                    // The current search has no more results, so move on to the next one
+                    searchIndex++;
+                    offset = 0;
+                    lastPage = Collections.emptySet();
+                    current = Collections.emptyIterator();
+                } else if (current.hasNext()) {
+                    AtlasEntityHeader candidate = current.next();
+                    Predicate<AtlasEntityHeader> filter = filters.get(searchIndex);
+                    if (filter == null || filter.test(candidate)) {
+                        nextResult = candidate;
                     }
+                } else {
+                    current = fetchNextPage();
                 }
+            }
+            return nextResult != null;
+        }
 
-                if (!skipSearch) {
+        /**
+         * Retrieve the next result. Only valid once hasNext has indicated there is one.
+         *
+         * @return AtlasEntityHeader
+         */
+        AtlasEntityHeader next() {
+            if (nextResult == null) {
+                throw new NoSuchElementException();
+            }
+            AtlasEntityHeader result = nextResult;
+            nextResult = null;
+            return result;
+        }
 
-                    if (limitResultsByClassification != null) {
-                        searchParameters.setClassification(limitResultsByClassification);
-                    }
+        /**
+         * Pull the next page of results of the current search from Apache Atlas.
+         *
+         * @return {@code Iterator<AtlasEntityHeader>} over the page, or null if the search has no more results
+         * @throws RepositoryErrorException when there is some error running the search against Atlas
+         */
+        private Iterator<AtlasEntityHeader> fetchNextPage() throws RepositoryErrorException {
+            if (offset < 0) {
+                return null;
+            }
+            T paged = pager.page(searches.get(searchIndex), offset, fetchSize);
+            AtlasSearchResult searchResult = runSearches(methodName, Collections.singletonList(paged), runner).get(0);
+            List<AtlasEntityHeader> results = searchResult == null ? null : searchResult.getEntities();
+            if (results == null || results.isEmpty()) {
+                return null;
+            }
+            Set<String> page = new HashSet<>();
+            for (AtlasEntityHeader result : results) {
+                page.add(result.getGuid());
+            }
+            if (lastPage.containsAll(page)) {
+                // A search that ignored its offset (returning nothing new) would otherwise never end
+                return null;
+            }
+            lastPage = page;
+            // A short page is the last one: mark the search as finished once it has been consumed
+            offset = results.size() < fetchSize ? -1 : offset + results.size();
+            return results.iterator();
+        }
 
-                    AtlasSearchResult results = null;
-                    try {
-                        results = atlasRepositoryConnector.searchForEntities(searchParameters);
-                    } catch (AtlasServiceException e) {
-                        raiseRepositoryErrorException(ApacheAtlasOMRSErrorCode.INVALID_SEARCH, methodName, e, searchParameters.toString());
-                    }
-                    if (results != null) {
-                        totalResults.add(results);
-                    }
+    }
 
-                }
+    /**
+     * Retrieve the number of results to request from a search in order to expect the provided number of results to
+     * pass a filter of the provided selectivity.
+     *
+     * @param required the number of results needed to pass the filter
+     * @param selectivity the proportion of results expected to pass the filter
+     * @return int
+     */
+    private int getPostFilterFetchSize(int required, double selectivity) {
+        if (selectivity <= 0 || selectivity >= 1) {
+            return Math.min(required, MAX_POST_FILTER_FETCH_SIZE);
+        }
+        return (int) Math.min(Math.ceil(required / selectivity), MAX_POST_FILTER_FETCH_SIZE);
+    }
 
-            }
+    /**
+     * Retrieve a filter that only passes entities with the named classification whose properties match as requested.
+     * Classification properties are one-to-one between OMRS and Apache Atlas, so need no mapping.
+     *
+     * @param classificationName the name of the classification
+     * @param matchClassificationProperties the classification properties to match
+     * @param matchClassificationCriteria how the properties should be matched
+     * @return {@code Predicate<AtlasEntityHeader>}, or null if there are no properties to match
+     */
+    private Predicate<AtlasEntityHeader> getClassificationMatcher(String classificationName,
+                                                                  InstanceProperties matchClassificationProperties,
+                                                                  MatchCriteria matchClassificationCriteria) {
 
+        Map<String, InstancePropertyValue> propertiesToMatch = matchClassificationProperties == null ? null : matchClassificationProperties.getInstanceProperties();
+        if (propertiesToMatch == null) {
+            return null;
         }
 
-        return combineMultipleResults(totalResults);
+        return candidateEntity -> {
+            List<AtlasClassification> classificationsForEntity = candidateEntity.getClassifications();
+            if (classificationsForEntity != null) {
+                // Iterate through each of the entity's classifications to narrow in on only the one of interest
+                for (AtlasClassification candidateClassification : classificationsForEntity) {
+                    if (candidateClassification.getTypeName().equals(classificationName)) {
+                        // ... then iterate through the properties of that classification we're trying to match
+                        boolean bMatchesAny = false;
+                        boolean bMatchesAll = true;
+                        for (Map.Entry<String, InstancePropertyValue> propertyToMatch : propertiesToMatch.entrySet()) {
+                            Object atlasClassificationValue = candidateClassification.getAttribute(propertyToMatch.getKey());
+                            boolean bMatchesThisOne = AttributeMapping.valuesMatch(propertyToMatch.getValue(), atlasClassificationValue);
+                            bMatchesAll = bMatchesAll && bMatchesThisOne;
+                            bMatchesAny = bMatchesAny || bMatchesThisOne;
+                        }
+                        boolean matches;
+                        if (matchClassificationCriteria == null) {
+                            matches = bMatchesAll;
+                        } else {
+                            switch (matchClassificationCriteria) {
+                                case NONE:
+                                    matches = !bMatchesAny;
+                                    break;
+                                case ANY:
+                                    matches = bMatchesAny;
+                                    break;
+                                case ALL:
+                                default:
+                                    matches = bMatchesAll;
+                                    break;
+                            }
+                        }
+                        if (matches) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            log.debug("Unable to match properties '{}' for entity, dropping from results: {}", matchClassificationProperties, candidateEntity);
+            return false;
+        };
 
     }
 
@@ -2154,7 +3957,7 @@ public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBas
         if (resultsList == null || resultsList.isEmpty()) {
             return null;
         } else if (resultsList.size() == 1) {
-            return resultsList.get(0).getEntities();
+            return resultsList.get(0) == null ? null : resultsList.get(0).getEntities();
         } else {
             List<AtlasEntityHeader> totalResults = new ArrayList<>();
             for (AtlasSearchResult result : resultsList) {
@@ -2210,15 +4013,180 @@ public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBas
         if (comparator != null) {
             totalResults.sort(comparator);
         }
-        int endOfPageMarker = Math.min(fromElement + pageSize, totalResults.size());
+        int endOfPageMarker = pageSize > 0 ? Math.min(fromElement + pageSize, totalResults.size()) : totalResults.size();
         if (fromElement != 0 || endOfPageMarker < totalResults.size()) {
-            totalResults = totalResults.subList(fromElement, endOfPageMarker);
+            totalResults = totalResults.subList(Math.min(fromElement, endOfPageMarker), endOfPageMarker);
         }
 
         return totalResults;
 
     }
 
+    /**
+     * Indicates whether Apache Atlas orders the results of each search in exactly the same way as the provided
+     * sequencing order would order the mapped results (true), or not (false). Ordering by property is excluded, as
+     * the property may not be mapped (and is therefore not ordered) for every Apache Atlas type searched.
+     *
+     * @param sequencingOrder the order requested for the results
+     * @return boolean
+     */
+    private boolean isOrderedByAtlas(SequencingOrder sequencingOrder) {
+        if (sequencingOrder == null) {
+            return false;
+        }
+        switch (sequencingOrder) {
+            case GUID:
+            case LAST_UPDATE_OLDEST:
+            case LAST_UPDATE_RECENT:
+            case CREATION_DATE_OLDEST:
+            case CREATION_DATE_RECENT:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Merge the provided search results, each of which is already in the requested order, into a single page of
+     * results in that order. Results are only retrieved from Apache Atlas as the merge needs them, so that (for the most
+     * part) only the entities that make the requested page are retrieved. The page is the same as would be produced
+     * by sortAndLimitFinalResults for the combination of all of the results.
+     *
+     * @param searchResults the separately-ordered results of each search
+     * @param entityTypeGUID the type of entity that was requested (or null for all)
+     * @param fromElement the starting element to include in the limited results
+     * @param comparator the order by which the results are sorted
+     * @param pageSize the number of results to include in this page
+     * @param userId the user through which to translate the results
+     * @param consumed into which to record the number of results used from each search (including any that could
+     *                 not be translated), to reach the end of the page
+     * @return {@code List<EntityDetail>}
+     * @throws InvalidParameterException the guid is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    private List<EntityDetail> mergeOrderedResults(List<AtlasSearchResult> searchResults,
+                                                   String entityTypeGUID,
+                                                   int fromElement,
+                                                   Comparator<EntityDetail> comparator,
+                                                   int pageSize,
+                                                   String userId,
+                                                   int[] consumed) throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            UserNotAuthorizedException {
+
+        if (entityTypeGUID == null) {
+            entityTypeGUID = typeDefStore.getTypeDefByName("Referenceable").getGUID();
+        }
+
+        int needed = fromElement + pageSize;
+        // Retrieve the first results of each search in small enough batches that, between them, they would only
+        // just fill the page
+        int batchSize = Math.max(1, Math.min(atlasRepositoryConnector.getBulkFetchBatchSize(), (needed + searchResults.size() - 1) / searchResults.size()));
+        List<OrderedResults> streams = new ArrayList<>();
+        for (AtlasSearchResult searchResult : searchResults) {
+            List<AtlasEntityHeader> headers = searchResult == null ? null : searchResult.getEntities();
+            streams.add(new OrderedResults(headers == null ? Collections.emptyList() : headers, entityTypeGUID, batchSize, userId));
+        }
+
+        List<EntityDetail> merged = new ArrayList<>();
+        while (merged.size() < needed) {
+            OrderedResults next = null;
+            EntityDetail nextDetail = null;
+            for (OrderedResults stream : streams) {
+                EntityDetail candidate = stream.peek();
+                // Only a strictly-earlier result displaces one from an earlier search, to keep the same order for
+                // equal results as a (stable) sort of the combined results would
+                if (candidate != null && (nextDetail == null || comparator.compare(candidate, nextDetail) < 0)) {
+                    next = stream;
+                    nextDetail = candidate;
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            merged.add(next.poll());
+        }
+
+        for (int i = 0; i < streams.size(); i++) {
+            consumed[i] = streams.get(i).getConsumed();
+        }
+        return merged.subList(Math.min(fromElement, merged.size()), merged.size());
+
+    }
+
+    /**
+     * The ordered results of a single search, which are only retrieved from Apache Atlas (a batch at a time) as they
+     * are needed.
+     */
+    private class OrderedResults {
+
+        private final List<AtlasEntityHeader> headers;
+        private final String entityTypeGUID;
+        private final int batchSize;
+        private final String userId;
+        private final Deque<EntityDetail> retrieved;
+        private final Deque<Integer> positions;
+        private int nextHeader;
+        private int consumed;
+
+        OrderedResults(List<AtlasEntityHeader> headers, String entityTypeGUID, int batchSize, String userId) {
+            this.headers = headers;
+            this.entityTypeGUID = entityTypeGUID;
+            this.batchSize = batchSize;
+            this.userId = userId;
+            this.retrieved = new ArrayDeque<>();
+            this.positions = new ArrayDeque<>();
+            this.nextHeader = 0;
+            this.consumed = 0;
+        }
+
+        /**
+         * Retrieve the next result, without removing it, or null if there are no more results.
+         *
+         * @return EntityDetail
+         */
+        EntityDetail peek() throws InvalidParameterException, RepositoryErrorException, UserNotAuthorizedException {
+            while (retrieved.isEmpty() && nextHeader < headers.size()) {
+                int end = Math.min(nextHeader + batchSize, headers.size());
+                List<AtlasEntityHeader> batch = headers.subList(nextHeader, end);
+                // Remember how far into the results each translated entity is (some results may not be translated)
+                Map<String, Integer> positionByGuid = new HashMap<>();
+                for (int i = 0; i < batch.size(); i++) {
+                    positionByGuid.put(batch.get(i).getGuid(), nextHeader + i + 1);
+                }
+                for (EntityDetail detail : getEntityDetailsFromAtlasResults(batch, entityTypeGUID, userId)) {
+                    retrieved.add(detail);
+                    positions.add(positionByGuid.getOrDefault(detail.getGUID(), end));
+                }
+                nextHeader = end;
+            }
+            return retrieved.peekFirst();
+        }
+
+        /**
+         * Retrieve and remove the next result (which must already have been retrieved through peek).
+         *
+         * @return EntityDetail
+         */
+        EntityDetail poll() {
+            consumed = positions.pollFirst();
+            return retrieved.pollFirst();
+        }
+
+        /**
+         * Retrieve the number of results used so far (including any that could not be translated).
+         *
+         * @return int
+         */
+        int getConsumed() {
+            return consumed;
+        }
+
+    }
+
     /**
      * Retrieves a list of EntityDetail objects given a list of AtlasEntityHeader objects.
      *
@@ -2240,36 +4208,341 @@ public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBas
 
         List<EntityDetail> entityDetails = new ArrayList<>();
 
-        if (atlasEntities != null) {
-            for (AtlasEntityHeader atlasEntityHeader : atlasEntities) {
-                try {
-                    EntityDetail detail = getEntityDetail(userId, atlasEntityHeader.getGuid());
-                    // Depending on prefix, this could come back with results that should not be included
-                    // (ie. for generated types or non-generated types, depending on requested entityTypeGUID),
-                    // so only include those that were requested
-                    if (detail != null) {
+        if (atlasEntities != null && !atlasEntities.isEmpty()) {
+
+            TypeDef typeDef = null;
+            try {
+                typeDef = repositoryHelper.getTypeDef(repositoryName, "entityTypeGUID", entityTypeGUID, "getEntityDetailsFromAtlasResults");
+            } catch (TypeErrorException e) {
+                log.error("Unable to find any TypeDef for entityTypeGUID: {}", entityTypeGUID);
+            }
+
+            if (typeDef != null) {
+                int batchSize = Math.max(atlasRepositoryConnector.getBulkFetchBatchSize(), 1);
+                for (int i = 0; i < atlasEntities.size(); i += batchSize) {
+                    List<AtlasEntityHeader> batch = atlasEntities.subList(i, Math.min(i + batchSize, atlasEntities.size()));
+                    for (EntityDetail detail : getEntityDetailsForBatch(batch, userId)) {
+                        // Depending on prefix, this could come back with results that should not be included
+                        // (ie. for generated types or non-generated types, depending on requested entityTypeGUID),
+                        // so only include those that were requested
                         String typeName = detail.getType().getTypeDefName();
-                        try {
-                            TypeDef typeDef = repositoryHelper.getTypeDef(repositoryName, "entityTypeGUID", entityTypeGUID, "getEntityDetailsFromAtlasResults");
-                            if (repositoryHelper.isTypeOf(repositoryName, typeName, typeDef.getName())) {
-                                entityDetails.add(detail);
-                            }
-                        } catch (TypeErrorException e) {
-                            log.error("Unable to find any TypeDef for entityTypeGUID: {}", entityTypeGUID);
+                        if (repositoryHelper.isTypeOf(repositoryName, typeName, typeDef.getName())) {
+                            entityDetails.add(detail);
                         }
-                    } else {
-                        log.error("Entity with GUID {} not mapped -- excluding from results.", atlasEntityHeader.getGuid());
                     }
-                } catch (EntityNotKnownException e) {
-                    log.error("Entity with GUID {} not known -- excluding from results.", atlasEntityHeader.getGuid());
                 }
             }
+
+        }
+
+        return entityDetails;
+
+    }
+
+    /**
+     * Retrieves the EntityDetail objects for a batch of AtlasEntityHeader objects, in the same order as the batch.
+     * Where the connector is configured for it, and the header carries every mapped attribute, the EntityDetail is
+     * translated directly from the header. Otherwise the batch is retrieved from Apache Atlas through a single bulk
+     * request, where possible. Any entities that are not known to Apache Atlas (or cannot be mapped) are excluded from
+     * the results.
+     *
+     * @param batch the Atlas entities for which to retrieve details
+     * @param userId the user through which to do the retrieval
+     * @return {@code List<EntityDetail>}
+     * @throws InvalidParameterException the guid is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     */
+    private List<EntityDetail> getEntityDetailsForBatch(List<AtlasEntityHeader> batch,
+                                                        String userId) throws
+            InvalidParameterException,
+            RepositoryErrorException {
+
+        Map<String, EntityDetail> detailsByGuid = new HashMap<>();
+        List<String> guidsToRetrieve = new ArrayList<>();
+        for (AtlasEntityHeader atlasEntityHeader : batch) {
+            String guid = atlasEntityHeader.getGuid();
+            EntityDetail detail = null;
+            if (atlasRepositoryConnector.isHeaderOnlyMapping() && atlasEntityHeader.getTypeName() != null) {
+                detail = getEntityDetailFromHeader(atlasEntityHeader, userId);
+            }
+            if (detail != null) {
+                detailsByGuid.put(guid, detail);
+            } else {
+                guidsToRetrieve.add(guid);
+            }
+        }
+
+        AtlasEntity.AtlasEntitiesWithExtInfo bulkEntities = null;
+        if (guidsToRetrieve.size() > 1) {
+            try {
+                bulkEntities = atlasRepositoryConnector.getEntitiesByGUIDs(guidsToRetrieve, EntityRetrievalProfile.ENTITY);
+            } catch (AtlasServiceException e) {
+                // Apache Atlas rejects the entire bulk request if even one of the GUIDs is no longer known, so in that
+                // case we fall back to retrieving each entity individually
+                log.debug("Unable to retrieve entities in bulk -- falling back to individual retrieval: {}", guidsToRetrieve, e);
+            }
+        }
+
+        Set<String> notKnown = new HashSet<>();
+        if (bulkEntities != null && bulkEntities.getEntities() != null) {
+            Map<String, AtlasEntity> entitiesByGuid = new HashMap<>();
+            for (AtlasEntity atlasEntity : bulkEntities.getEntities()) {
+                entitiesByGuid.put(atlasEntity.getGuid(), atlasEntity);
+            }
+            for (String guid : guidsToRetrieve) {
+                AtlasEntity atlasEntity = entitiesByGuid.get(guid);
+                if (atlasEntity == null) {
+                    notKnown.add(guid);
+                } else {
+                    detailsByGuid.put(guid, getMappedEntityDetail(AtlasGuid.fromGuid(guid),
+                            new AtlasEntity.AtlasEntityWithExtInfo(atlasEntity, bulkEntities),
+                            userId));
+                }
+            }
+        } else {
+            ExecutorService executor = atlasRepositoryConnector.getHydrationExecutor();
+            if (executor == null || guidsToRetrieve.size() < 2) {
+                for (String guid : guidsToRetrieve) {
+                    try {
+                        detailsByGuid.put(guid, getEntityDetail(userId, guid));
+                    } catch (EntityNotKnownException e) {
+                        notKnown.add(guid);
+                    }
+                }
+            } else {
+                getEntityDetailsConcurrently(executor, guidsToRetrieve, userId, detailsByGuid, notKnown);
+            }
         }
 
+        List<EntityDetail> entityDetails = new ArrayList<>();
+        for (AtlasEntityHeader atlasEntityHeader : batch) {
+            String guid = atlasEntityHeader.getGuid();
+            if (notKnown.contains(guid)) {
+                log.error("Entity with GUID {} not known -- excluding from results.", guid);
+            } else {
+                addMappedEntityDetail(entityDetails, detailsByGuid.get(guid), guid);
+            }
+        }
         return entityDetails;
 
     }
 
+    /**
+     * Retrieves the EntityDetail objects for the provided GUIDs concurrently, through the provided executor. The
+     * outcome is the same as retrieving each one in turn: the details and unknown GUIDs are collected by GUID, so that
+     * the caller can still assemble the results in the original order.
+     *
+     * @param executor the executor through which to retrieve the entities
+     * @param guids the GUIDs of the entities to retrieve
+     * @param userId the user through which to do the retrieval
+     * @param detailsByGuid the map into which to collect each retrieved EntityDetail, by GUID
+     * @param notKnown the set into which to collect the GUIDs of any entities that are not known
+     * @throws InvalidParameterException the guid is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     */
+    private void getEntityDetailsConcurrently(ExecutorService executor,
+                                              List<String> guids,
+                                              String userId,
+                                              Map<String, EntityDetail> detailsByGuid,
+                                              Set<String> notKnown) throws
+            InvalidParameterException,
+            RepositoryErrorException {
+
+        final String methodName = "getEntityDetailsConcurrently";
+
+        Map<String, Future<EntityDetail>> futuresByGuid = new LinkedHashMap<>();
+        for (String guid : guids) {
+            futuresByGuid.put(guid, executor.submit(() -> getEntityDetail(userId, guid)));
+        }
+        try {
+            for (Map.Entry<String, Future<EntityDetail>> entry : futuresByGuid.entrySet()) {
+                String guid = entry.getKey();
+                try {
+                    detailsByGuid.put(guid, entry.getValue().get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof EntityNotKnownException) {
+                        notKnown.add(guid);
+                    } else if (cause instanceof InvalidParameterException) {
+                        throw (InvalidParameterException) cause;
+                    } else if (cause instanceof RepositoryErrorException) {
+                        throw (RepositoryErrorException) cause;
+                    } else {
+                        raiseRepositoryErrorException(ApacheAtlasOMRSErrorCode.ENTITY_RETRIEVAL_FAILED, methodName, cause, guid, methodName, repositoryName);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    raiseRepositoryErrorException(ApacheAtlasOMRSErrorCode.ENTITY_RETRIEVAL_FAILED, methodName, e, guid, methodName, repositoryName);
+                }
+            }
+        } finally {
+            // Do not leave any remaining retrievals running if we have given up on the results
+            for (Future<EntityDetail> future : futuresByGuid.values()) {
+                future.cancel(true);
+            }
+        }
+
+    }
+
+    /**
+     * Translate the provided AtlasEntityHeader directly into an EntityDetail, if the header carries all of the
+     * information needed to do so.
+     *
+     * @param atlasEntityHeader the Atlas entity header (from a search result) to translate
+     * @param userId the user through which to do the translation
+     * @return EntityDetail, or null if the full entity must be retrieved to translate it
+     * @throws RepositoryErrorException there is a problem mapping the entity
+     */
+    private EntityDetail getEntityDetailFromHeader(AtlasEntityHeader atlasEntityHeader,
+                                                   String userId) throws RepositoryErrorException {
+        AtlasGuid atlasGuid = AtlasGuid.fromGuid(atlasEntityHeader.getGuid());
+        String prefix = atlasGuid.getGeneratedPrefix();
+        AtlasEntity.AtlasEntityWithExtInfo entity = EntityMappingAtlas2OMRS.getEntityFromHeader(atlasRepositoryConnector,
+                typeDefStore,
+                atlasEntityHeader,
+                prefix);
+        if (entity == null) {
+            log.debug("Header for entity {} does not carry all mapped attributes -- retrieving it in full.", atlasEntityHeader.getGuid());
+            return null;
+        }
+        EntityMappingAtlas2OMRS mapping = new EntityMappingAtlas2OMRS(atlasRepositoryConnector, typeDefStore, attributeTypeDefStore, entity, prefix, userId);
+        return mapping.getEntityDetail();
+    }
+
+    /**
+     * Add the provided EntityDetail to the list of results, if it could be mapped.
+     *
+     * @param entityDetails the list of results to which to add the EntityDetail
+     * @param detail the mapped EntityDetail (or null if it could not be mapped)
+     * @param guid the GUID of the Apache Atlas entity that was mapped
+     */
+    private void addMappedEntityDetail(List<EntityDetail> entityDetails, EntityDetail detail, String guid) {
+        if (detail != null) {
+            entityDetails.add(detail);
+        } else {
+            log.error("Entity with GUID {} not mapped -- excluding from results.", guid);
+        }
+    }
+
+    /**
+     * Translate the provided classification properties into criteria by which Apache Atlas can filter the
+     * classifications of a basic search (its tagFilters). Classification properties are one-to-one between OMRS and
+     * Apache Atlas, so need no mapping. Where only some of the properties can be translated, criteria are only
+     * returned if they still include every result that matches all of the properties.
+     *
+     * @param matchClassificationProperties the classification properties to match
+     * @param matchClassificationCriteria how the properties should be matched
+     * @return SearchParameters.FilterCriteria, or null if Apache Atlas cannot filter on the properties
+     * @throws FunctionNotSupportedException when a regular expression is used for the search that is not supported
+     */
+    private SearchParameters.FilterCriteria getClassificationFilters(InstanceProperties matchClassificationProperties,
+                                                                     MatchCriteria matchClassificationCriteria) throws
+            FunctionNotSupportedException {
+
+        Map<String, InstancePropertyValue> properties = matchClassificationProperties == null ? null : matchClassificationProperties.getInstanceProperties();
+        if (properties == null || properties.isEmpty()
+                || (matchClassificationCriteria != null && matchClassificationCriteria.equals(MatchCriteria.NONE))) {
+            // Leave any negated matching to the results themselves, as Apache Atlas would also exclude classifications
+            // that do not have the property at all
+            return null;
+        }
+        boolean matchAny = matchClassificationCriteria != null && matchClassificationCriteria.equals(MatchCriteria.ANY);
+
+        List<SearchParameters.FilterCriteria> criteria = new ArrayList<>();
+        for (Map.Entry<String, InstancePropertyValue> property : properties.entrySet()) {
+            String propertyName = property.getKey();
+            InstancePropertyValue value = property.getValue();
+            if (isClassificationFilterable(value)) {
+                addSearchConditionFromValue(
+                        criteria,
+                        propertyName,
+                        value,
+                        Collections.singletonMap(propertyName, propertyName),
+                        Collections.emptyMap(),
+                        false,
+                        false
+                );
+            } else if (matchAny) {
+                // Any one of the properties could match, so we cannot filter on only some of them
+                return null;
+            }
+        }
+
+        if (criteria.isEmpty()) {
+            return null;
+        } else if (criteria.size() == 1) {
+            return criteria.get(0);
+        } else {
+            SearchParameters.FilterCriteria tagFilters = new SearchParameters.FilterCriteria();
+            tagFilters.setCriterion(criteria);
+            tagFilters.setCondition(matchAny ? SearchParameters.FilterCriteria.Condition.OR : SearchParameters.FilterCriteria.Condition.AND);
+            return tagFilters;
+        }
+
+    }
+
+    /**
+     * Indicates whether Apache Atlas has filtered on all of the provided classification properties (true) or whether
+     * the results must still be filtered further (false).
+     *
+     * @param matchClassificationProperties the classification properties to match
+     * @param tagFilters the criteria Apache Atlas was given to filter on (if any)
+     * @return boolean
+     */
+    private boolean isClassificationFilteredByAtlas(InstanceProperties matchClassificationProperties,
+                                                    SearchParameters.FilterCriteria tagFilters) {
+        Map<String, InstancePropertyValue> properties = matchClassificationProperties == null ? null : matchClassificationProperties.getInstanceProperties();
+        if (properties == null || properties.isEmpty()) {
+            return true;
+        } else if (tagFilters == null) {
+            return false;
+        }
+        for (InstancePropertyValue value : properties.values()) {
+            if (!isClassificationFilterable(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indicates whether Apache Atlas can filter classifications by the provided value (true) or not (false).
+     *
+     * @param value the value of the classification property to match
+     * @return boolean
+     */
+    private boolean isClassificationFilterable(InstancePropertyValue value) {
+        if (value == null || !InstancePropertyCategory.PRIMITIVE.equals(value.getInstancePropertyCategory())) {
+            return false;
+        }
+        PrimitivePropertyValue primitive = (PrimitivePropertyValue) value;
+        Object primitiveValue = primitive.getPrimitiveValue();
+        if (primitiveValue == null || PrimitiveDefCategory.OM_PRIMITIVE_TYPE_DATE.equals(primitive.getPrimitiveDefCategory())) {
+            return false;
+        }
+        switch (primitive.getPrimitiveDefCategory()) {
+            case OM_PRIMITIVE_TYPE_BOOLEAN:
+            case OM_PRIMITIVE_TYPE_SHORT:
+            case OM_PRIMITIVE_TYPE_INT:
+            case OM_PRIMITIVE_TYPE_LONG:
+            case OM_PRIMITIVE_TYPE_FLOAT:
+            case OM_PRIMITIVE_TYPE_DOUBLE:
+            case OM_PRIMITIVE_TYPE_BIGINTEGER:
+            case OM_PRIMITIVE_TYPE_BIGDECIMAL:
+            case OM_PRIMITIVE_TYPE_BYTE:
+            case OM_PRIMITIVE_TYPE_CHAR:
+                return true;
+            default:
+                String candidateValue = primitiveValue.toString();
+                return repositoryHelper.isContainsRegex(candidateValue)
+                        || repositoryHelper.isEndsWithRegex(candidateValue)
+                        || repositoryHelper.isStartsWithRegex(candidateValue)
+                        || repositoryHelper.isExactMatchRegex(candidateValue);
+        }
+    }
+
     /**
      * Adds the provided value to the search criteria for Apache Atlas, returning whether it was able to add the
      * condition (true) or not (false).
@@ -2619,17 +4892,96 @@ public class ApacheAtlasOMRSMetadataCollection extends OMRSMetadataCollectionBas
     }
      */
 
+    /**
+     * Map the provided Atlas entity to an OMRS EntityDetail, re-using a previous mapping of the same (unchanged) Atlas
+     * entity where one is available.
+     *
+     * @param atlasGuid the GUID of the entity to map, including any prefix for a generated entity
+     * @param entity the Atlas entity to map
+     * @param userId the user through which to do the mapping
+     * @return EntityDetail
+     * @throws RepositoryErrorException if there is any problem mapping the entity
+     */
+    private EntityDetail getMappedEntityDetail(AtlasGuid atlasGuid,
+                                               AtlasEntity.AtlasEntityWithExtInfo entity,
+                                               String userId) throws RepositoryErrorException {
+        EntityDetail detail = getCurrentMapping(mappedDetailCache, atlasGuid, entity.getEntity());
+        if (detail == null) {
+            EntityMappingAtlas2OMRS mapping = new EntityMappingAtlas2OMRS(atlasRepositoryConnector, typeDefStore, attributeTypeDefStore, entity, atlasGuid.getGeneratedPrefix(), userId);
+            detail = mapping.getEntityDetail();
+            mappedDetailCache.put(atlasGuid, detail);
+        }
+        // Always hand back a copy, so that the cached mapping cannot be changed by the caller
+        return detail == null ? null : new EntityDetail(detail);
+    }
+
+    /**
+     * Map the provided Atlas entity to an OMRS EntitySummary, re-using a previous mapping of the same (unchanged)
+     * Atlas entity where one is available.
+     *
+     * @param atlasGuid the GUID of the entity to map, including any prefix for a generated entity
+     * @param entity the Atlas entity to map
+     * @param userId the user through which to do the mapping
+     * @return EntitySummary
+     * @throws RepositoryErrorException if there is any problem mapping the entity
+     */
+    private EntitySummary getMappedEntitySummary(AtlasGuid atlasGuid,
+                                                 AtlasEntity.AtlasEntityWithExtInfo entity,
+                                                 String userId) throws RepositoryErrorException {
+        EntitySummary summary = getCurrentMapping(mappedSummaryCache, atlasGuid, entity.getEntity());
+        if (summary == null) {
+            EntityMappingAtlas2OMRS mapping = new EntityMappingAtlas2OMRS(atlasRepositoryConnector, typeDefStore, attributeTypeDefStore, entity, atlasGuid.getGeneratedPrefix(), userId);
+            summary = mapping.getEntitySummary();
+            mappedSummaryCache.put(atlasGuid, summary);
+        }
+        // Always hand back a copy, so that the cached mapping cannot be changed by the caller
+        return summary == null ? null : new EntitySummary(summary);
+    }
+
+    /**
+     * Retrieve a previous mapping of the provided Atlas entity, if there is one and it was mapped from the same version
+     * of the Atlas entity (and the same TypeDefs) as we have now.
+     *
+     * @param cache the cache of previous mappings
+     * @param atlasGuid the GUID of the mapped entity, including any prefix for a generated entity
+     * @param atlasEntity the current Atlas entity
+     * @param <T> the type of mapping (EntityDetail or EntitySummary)
+     * @return T the previous mapping, or null if there is no current mapping
+     */
+    private <T extends EntitySummary> T getCurrentMapping(ExpiringCache<AtlasGuid, T> cache,
+                                                          AtlasGuid atlasGuid,
+                                                          AtlasEntity atlasEntity) {
+        long typeDefChangeCount = typeDefStore.getChangeCount();
+        if (typeDefChangeCount != mappedCacheTypeDefChangeCount) {
+            // The TypeDefs have changed, so any previous mappings could now be different
+            mappedDetailCache.clear();
+            mappedSummaryCache.clear();
+            mappedCacheTypeDefChangeCount = typeDefChangeCount;
+        }
+        T cached = cache.get(atlasGuid);
+        if (cached != null
+                && atlasEntity.getVersion() != null
+                && cached.getVersion() == atlasEntity.getVersion()
+                && Objects.equals(cached.getUpdateTime(), atlasEntity.getUpdateTime())) {
+            return cached;
+        }
+        return null;
+    }
+
     /**
      * Try to retrieve an Atlas entity using the provided GUID, and if not found throw an EntityNotKnownException.
      * @param guid the GUID for the entity to retrieve
+     * @param profile the retrieval profile, indicating how the entity will be mapped
      * @param methodName the name of the method retrieving the entity
      * @return AtlasEntityWithExtInfo
      * @throws EntityNotKnownException if the entity cannot be found in Atlas
      */
-    private AtlasEntity.AtlasEntityWithExtInfo getAtlasEntitySafe(String guid, String methodName) throws EntityNotKnownException {
+    private AtlasEntity.AtlasEntityWithExtInfo getAtlasEntitySafe(String guid,
+                                                                  EntityRetrievalProfile profile,
+                                                                  String methodName) throws EntityNotKnownException {
         AtlasEntity.AtlasEntityWithExtInfo entity = null;
         try {
-            entity = this.atlasRepositoryConnector.getEntityByGUID(guid, false, true);
+            entity = this.atlasRepositoryConnector.getEntityByGUID(guid, profile);
         } catch (AtlasServiceException e) {
             raiseEntityNotKnownException(ApacheAtlasOMRSErrorCode.ENTITY_NOT_KNOWN, methodName, e, guid, methodName, repositoryName);
         }
@@ -2,9 +2,12 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.egeria.connectors.apache.atlas.repositoryconnector;
 
+import com.sun.jersey.api.client.ClientResponse;
 import org.apache.atlas.AtlasServiceException;
 import org.apache.atlas.model.SearchFilter;
+import org.apache.atlas.model.discovery.AtlasQuickSearchResult;
 import org.apache.atlas.model.discovery.AtlasSearchResult;
+import org.apache.atlas.model.discovery.QuickSearchParameters;
 import org.apache.atlas.model.discovery.SearchParameters;
 import org.apache.atlas.model.instance.AtlasEntity;
 import org.apache.atlas.model.instance.AtlasRelationship;
@@ -12,6 +15,8 @@ import org.apache.atlas.model.typedef.AtlasEntityDef;
 import org.apache.atlas.model.typedef.AtlasTypesDef;
 import org.odpi.egeria.connectors.apache.atlas.auditlog.ApacheAtlasOMRSAuditCode;
 import org.odpi.egeria.connectors.apache.atlas.auditlog.ApacheAtlasOMRSErrorCode;
+import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model.EntityRetrievalProfile;
+import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.stores.ExpiringCache;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
@@ -22,10 +27,21 @@ import org.apache.atlas.AtlasClientV2;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ApacheAtlasOMRSRepositoryConnector extends OMRSRepositoryConnector {
 
@@ -39,11 +55,35 @@ public class ApacheAtlasOMRSRepositoryConnector extends OMRSRepositoryConnector
 
     private boolean successfulInit = false;
 
+    private int bulkFetchBatchSize = ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_BULK_FETCH_BATCH_SIZE;
+    private boolean headerOnlyMapping = ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_HEADER_ONLY_MAPPING;
+    private ExpiringCache<String, AtlasEntity.AtlasEntityWithExtInfo> entityCache;
+    private ExpiringCache<String, ClientResponse.Status> unknownEntityCache;
+    private final Map<String, CompletableFuture<AtlasEntity.AtlasEntityWithExtInfo>> inFlightEntityFetches;
+    private final Object entityCacheLock;
+    private final AtomicLong coalescedEntityFetches;
+    private int mappedEntityCacheSize = ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_MAPPED_ENTITY_CACHE_SIZE;
+    private int searchContinuationCacheSize = ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_SEARCH_CONTINUATION_CACHE_SIZE;
+    private boolean unionPropertyValueSearch = ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_UNION_PROPERTY_VALUE_SEARCH;
+    private int queryResultCacheSize = ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_QUERY_RESULT_CACHE_SIZE;
+    private int queryResultCacheTTL = ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_QUERY_RESULT_CACHE_TTL;
+    private int pagingSessionCacheSize = ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_PAGING_SESSION_CACHE_SIZE;
+    private boolean quickSearch = ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_QUICK_SEARCH;
+    private final Map<String, Set<String>> atlasEntitySuperTypesByName;
+    private ExecutorService hydrationExecutor = null;
+    private ExecutorService searchExecutor = null;
+
     /**
      * Default constructor used by the OCF Connector Provider.
      */
     public ApacheAtlasOMRSRepositoryConnector() {
         atlasEntityTypesByName = new HashMap<>();
+        atlasEntitySuperTypesByName = new ConcurrentHashMap<>();
+        entityCache = new ExpiringCache<>(0, 0);
+        unknownEntityCache = new ExpiringCache<>(0, 0);
+        inFlightEntityFetches = new ConcurrentHashMap<>();
+        entityCacheLock = new Object();
+        coalescedEntityFetches = new AtomicLong(0);
     }
 
     /**
@@ -89,6 +129,21 @@ public class ApacheAtlasOMRSRepositoryConnector extends OMRSRepositoryConnector
     @Override
     public void disconnect() {
         final String methodName = "disconnect";
+        if (entityCache.isEnabled()) {
+            log.info("Entity cache for {}: {} hits, {} misses.", getServerName(), getEntityCacheHitCount(), getEntityCacheMissCount());
+        }
+        if (unknownEntityCache.isEnabled()) {
+            log.info("Unknown entity cache for {}: {} hits, {} misses.", getServerName(), unknownEntityCache.getHitCount(), unknownEntityCache.getMissCount());
+        }
+        if (getCoalescedEntityFetchCount() > 0) {
+            log.info("Entity retrievals coalesced for {}: {}", getServerName(), getCoalescedEntityFetchCount());
+        }
+        if (hydrationExecutor != null) {
+            hydrationExecutor.shutdown();
+        }
+        if (searchExecutor != null) {
+            searchExecutor.shutdown();
+        }
         auditLog.logMessage(methodName, ApacheAtlasOMRSAuditCode.REPOSITORY_SERVICE_SHUTDOWN.getMessageDefinition(getServerName()));
     }
 
@@ -155,7 +210,23 @@ public class ApacheAtlasOMRSRepositoryConnector extends OMRSRepositoryConnector
     }*/
 
     /**
-     * Retrieve an Apache Atlas Entity instance by its GUID.
+     * Retrieve an Apache Atlas Entity instance by its GUID, including only as much of it as is needed for the provided
+     * retrieval profile.
+     *
+     * @param guid the GUID of the entity instance to retrieve
+     * @param profile the retrieval profile, indicating how the entity will be mapped
+     * @return AtlasEntityWithExtInfo
+     * @throws AtlasServiceException if there is any error retrieving the entity
+     */
+    public AtlasEntity.AtlasEntityWithExtInfo getEntityByGUID(String guid,
+                                                              EntityRetrievalProfile profile) throws AtlasServiceException {
+        return getEntityByGUID(guid, profile.isMinimalExtraInfo(), profile.isIgnoreRelationships());
+    }
+
+    /**
+     * Retrieve an Apache Atlas Entity instance by its GUID. Concurrent requests for the same entity (with the same
+     * options) share a single retrieval from Apache Atlas, and its result. Where it is enabled, a GUID that Apache Atlas
+     * recently reported as not known is not retrieved again: an error with the same status is raised immediately instead.
      *
      * @param guid the GUID of the entity instance to retrieve
      * @param minimalExtraInfo if true, minimize the amount of extra information retrieved about the GUID
@@ -166,7 +237,310 @@ public class ApacheAtlasOMRSRepositoryConnector extends OMRSRepositoryConnector
     public AtlasEntity.AtlasEntityWithExtInfo getEntityByGUID(String guid,
                                                               boolean minimalExtraInfo,
                                                               boolean ignoreRelationships) throws AtlasServiceException {
-        return atlasClient.getEntityByGuid(guid, minimalExtraInfo, ignoreRelationships);
+        ClientResponse.Status notKnown = unknownEntityCache.get(guid);
+        if (notKnown != null) {
+            throw new UnknownEntityException(guid, notKnown);
+        }
+        String cacheKey = getEntityCacheKey(guid, minimalExtraInfo, ignoreRelationships);
+        AtlasEntity.AtlasEntityWithExtInfo entity = entityCache.get(cacheKey);
+        if (entity == null) {
+            CompletableFuture<AtlasEntity.AtlasEntityWithExtInfo> retrieval = new CompletableFuture<>();
+            CompletableFuture<AtlasEntity.AtlasEntityWithExtInfo> inFlight = inFlightEntityFetches.putIfAbsent(cacheKey, retrieval);
+            if (inFlight != null) {
+                coalescedEntityFetches.incrementAndGet();
+                entity = getInFlightEntity(inFlight);
+            } else {
+                try {
+                    entity = atlasClient.getEntityByGuid(guid, minimalExtraInfo, ignoreRelationships);
+                } catch (Throwable e) {
+                    // Only remember that the entity is not known if it was not created (or otherwise invalidated) while
+                    // it was being retrieved
+                    synchronized (entityCacheLock) {
+                        if (inFlightEntityFetches.remove(cacheKey, retrieval)
+                                && e instanceof AtlasServiceException && isNotFound((AtlasServiceException) e)) {
+                            unknownEntityCache.put(guid, ((AtlasServiceException) e).getStatus());
+                        }
+                    }
+                    retrieval.completeExceptionally(e);
+                    throw e;
+                }
+                // Only cache the result if the entity was not invalidated while it was being retrieved: the
+                // retrieval's in-flight entry is dropped by any invalidation, under the same lock
+                synchronized (entityCacheLock) {
+                    if (inFlightEntityFetches.remove(cacheKey, retrieval)) {
+                        entityCache.put(cacheKey, entity);
+                    }
+                }
+                retrieval.complete(entity);
+            }
+        }
+        return entity;
+    }
+
+    /**
+     * Retrieve the Apache Atlas Entity instance of the provided type (or one of its subtypes) that has the provided
+     * value for one of its unique attributes.
+     *
+     * @param typeName the name of the Apache Atlas entity type
+     * @param attributeName the name of the unique attribute
+     * @param value the value of the unique attribute
+     * @param profile the retrieval profile, indicating how the entity will be mapped
+     * @return AtlasEntityWithExtInfo, or null if there is no such entity
+     * @throws AtlasServiceException if there is any other error retrieving the entity
+     */
+    public AtlasEntity.AtlasEntityWithExtInfo getEntityByUniqueAttribute(String typeName,
+                                                                         String attributeName,
+                                                                         String value,
+                                                                         EntityRetrievalProfile profile) throws AtlasServiceException {
+        try {
+            return atlasClient.getEntityByAttribute(typeName,
+                    Collections.singletonMap(attributeName, value),
+                    profile.isMinimalExtraInfo(),
+                    profile.isIgnoreRelationships());
+        } catch (AtlasServiceException e) {
+            if (isNotFound(e)) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Indicates whether the provided error is Apache Atlas reporting that an instance is not known (true) or some other
+     * error (false).
+     *
+     * @param e the error from Apache Atlas
+     * @return boolean
+     */
+    private static boolean isNotFound(AtlasServiceException e) {
+        return e.getStatus() != null && e.getStatus().getStatusCode() == 404;
+    }
+
+    /**
+     * Wait for the result of a retrieval of an entity that is already in progress.
+     *
+     * @param inFlight the retrieval in progress
+     * @return AtlasEntityWithExtInfo
+     * @throws AtlasServiceException if there is any error retrieving the entity
+     */
+    private AtlasEntity.AtlasEntityWithExtInfo getInFlightEntity(CompletableFuture<AtlasEntity.AtlasEntityWithExtInfo> inFlight) throws AtlasServiceException {
+        try {
+            return inFlight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AtlasServiceException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof AtlasServiceException) {
+                throw (AtlasServiceException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new AtlasServiceException(e);
+        }
+    }
+
+    /**
+     * Retrieve the number of entity retrievals that were answered by sharing a retrieval of the same entity that was
+     * already in progress, rather than making a separate request to Apache Atlas.
+     *
+     * @return long
+     */
+    public long getCoalescedEntityFetchCount() {
+        return coalescedEntityFetches.get();
+    }
+
+    /**
+     * Remove any cached copies of the Apache Atlas Entity instance with the provided GUID (or any record that it was not
+     * known), for example because the entity has been created or changed in Apache Atlas.
+     *
+     * @param guid the GUID of the entity instance that is no longer current
+     */
+    public void invalidateCachedEntity(String guid) {
+        if (guid != null) {
+            synchronized (entityCacheLock) {
+                // Ensure any retrieval already in progress is neither cached nor shared with later requests...
+                inFlightEntityFetches.remove(getEntityCacheKey(guid, false, false));
+                inFlightEntityFetches.remove(getEntityCacheKey(guid, false, true));
+                inFlightEntityFetches.remove(getEntityCacheKey(guid, true, false));
+                inFlightEntityFetches.remove(getEntityCacheKey(guid, true, true));
+                // ...and then remove anything already cached
+                entityCache.remove(getEntityCacheKey(guid, false, false));
+                entityCache.remove(getEntityCacheKey(guid, false, true));
+                entityCache.remove(getEntityCacheKey(guid, true, false));
+                entityCache.remove(getEntityCacheKey(guid, true, true));
+                unknownEntityCache.remove(guid);
+            }
+        }
+    }
+
+    /**
+     * Retrieve the number of entity retrievals that were answered from the connector's entity cache.
+     *
+     * @return long
+     */
+    public long getEntityCacheHitCount() {
+        return entityCache.getHitCount();
+    }
+
+    /**
+     * Retrieve the number of entity retrievals that could not be answered from the connector's entity cache.
+     *
+     * @return long
+     */
+    public long getEntityCacheMissCount() {
+        return entityCache.getMissCount();
+    }
+
+    /**
+     * Retrieve the maximum number of mapped OMRS entities to keep for re-use.
+     *
+     * @return int
+     */
+    public int getMappedEntityCacheSize() {
+        return mappedEntityCacheSize;
+    }
+
+    /**
+     * Retrieve the maximum number of search continuations to remember, for resuming multi-type searches page by page.
+     *
+     * @return int
+     */
+    public int getSearchContinuationCacheSize() {
+        return searchContinuationCacheSize;
+    }
+
+    /**
+     * Indicates whether a search by property value across multiple Apache Atlas types should, where possible, search a
+     * common Apache Atlas supertype in a single request (true), or always search each type separately (false).
+     *
+     * @return boolean
+     */
+    public boolean isUnionPropertyValueSearch() {
+        return unionPropertyValueSearch;
+    }
+
+    /**
+     * Retrieve the maximum number of search requests whose results to remember, for answering identical requests.
+     *
+     * @return int
+     */
+    public int getQueryResultCacheSize() {
+        return queryResultCacheSize;
+    }
+
+    /**
+     * Retrieve the number of seconds for which the results of a search request are remembered.
+     *
+     * @return int
+     */
+    public int getQueryResultCacheTTL() {
+        return queryResultCacheTTL;
+    }
+
+    /**
+     * Retrieve the maximum number of paging sessions to remember, for serving later pages of a search that Apache Atlas
+     * cannot order itself.
+     *
+     * @return int
+     */
+    public int getPagingSessionCacheSize() {
+        return pagingSessionCacheSize;
+    }
+
+    /**
+     * Indicates whether a search by property value for a single word contained in a string property should be run
+     * through the Apache Atlas quick search (true), or a basic search (false).
+     *
+     * @return boolean
+     */
+    public boolean isQuickSearch() {
+        return quickSearch;
+    }
+
+    /**
+     * Retrieve the key under which to cache an entity retrieved with the provided options.
+     *
+     * @param guid the GUID of the entity instance
+     * @param minimalExtraInfo whether the entity was retrieved with minimal extra information
+     * @param ignoreRelationships whether the entity was retrieved without its relationships
+     * @return String
+     */
+    private static String getEntityCacheKey(String guid, boolean minimalExtraInfo, boolean ignoreRelationships) {
+        return guid + (minimalExtraInfo ? ":min" : ":ext") + (ignoreRelationships ? ":norel" : ":rel");
+    }
+
+    /**
+     * Retrieve a number of Apache Atlas Entity instances at once, by their GUIDs. Note that Apache Atlas will fail the
+     * entire request if any one of the GUIDs is not known to it.
+     *
+     * @param guids the GUIDs of the entity instances to retrieve
+     * @param profile the retrieval profile, indicating how the entities will be mapped
+     * @return AtlasEntitiesWithExtInfo
+     * @throws AtlasServiceException if there is any error retrieving the entities
+     */
+    public AtlasEntity.AtlasEntitiesWithExtInfo getEntitiesByGUIDs(List<String> guids,
+                                                                   EntityRetrievalProfile profile) throws AtlasServiceException {
+        return getEntitiesByGUIDs(guids, profile.isMinimalExtraInfo(), profile.isIgnoreRelationships());
+    }
+
+    /**
+     * Retrieve a number of Apache Atlas Entity instances at once, by their GUIDs. Note that Apache Atlas will fail the
+     * entire request if any one of the GUIDs is not known to it.
+     *
+     * @param guids the GUIDs of the entity instances to retrieve
+     * @param minimalExtraInfo if true, minimize the amount of extra information retrieved about the GUIDs
+     * @param ignoreRelationships if true, will return only the entities (none of their relationships)
+     * @return AtlasEntitiesWithExtInfo
+     * @throws AtlasServiceException if there is any error retrieving the entities
+     */
+    public AtlasEntity.AtlasEntitiesWithExtInfo getEntitiesByGUIDs(List<String> guids,
+                                                                   boolean minimalExtraInfo,
+                                                                   boolean ignoreRelationships) throws AtlasServiceException {
+        return atlasClient.getEntitiesByGuids(guids, minimalExtraInfo, ignoreRelationships);
+    }
+
+    /**
+     * Retrieve the maximum number of entities to retrieve in a single bulk request.
+     *
+     * @return int
+     */
+    public int getBulkFetchBatchSize() {
+        return bulkFetchBatchSize;
+    }
+
+    /**
+     * Indicates whether search results should be translated directly from their entity headers, where possible (true),
+     * or always by retrieving each entity in full (false).
+     *
+     * @return boolean
+     */
+    public boolean isHeaderOnlyMapping() {
+        return headerOnlyMapping;
+    }
+
+    /**
+     * Retrieve the executor through which to retrieve entities from Apache Atlas concurrently, when translating search
+     * results. The executor's fixed pool of threads caps the number of concurrent retrievals across all requests
+     * handled by this connector.
+     *
+     * @return ExecutorService, or null if entities should be retrieved sequentially
+     */
+    public ExecutorService getHydrationExecutor() {
+        return hydrationExecutor;
+    }
+
+    /**
+     * Retrieve the executor through which to run the searches against Apache Atlas concurrently, when a single OMRS
+     * search needs to be run against multiple Apache Atlas types. The executor's fixed pool of threads caps the number
+     * of concurrent searches across all requests handled by this connector.
+     *
+     * @return ExecutorService, or null if searches should be run sequentially
+     */
+    public ExecutorService getSearchExecutor() {
+        return searchExecutor;
     }
 
     /**
@@ -227,6 +601,23 @@ public class ApacheAtlasOMRSRepositoryConnector extends OMRSRepositoryConnector
         return atlasClient.facetedSearch(searchParameters);
     }
 
+    /**
+     * Search for entities through the Apache Atlas quick search, based on the provided parameters.
+     *
+     * @param quickSearchParameters the criteria by which to search
+     * @return AtlasSearchResult
+     * @throws AtlasServiceException if there is any error running the search
+     */
+    public AtlasSearchResult quickSearch(QuickSearchParameters quickSearchParameters) throws AtlasServiceException {
+        log.debug("Quick searching Atlas with: {}", quickSearchParameters);
+        AtlasQuickSearchResult results = atlasClient.quickSearch(quickSearchParameters);
+        if (results == null) {
+            return null;
+        }
+        log.debug("Quick search aggregations: {}", results.getAggregationMetrics());
+        return results.getSearchResults();
+    }
+
     /**
      * Search for entities based one provided DSL query string.
      *
@@ -256,6 +647,69 @@ public class ApacheAtlasOMRSRepositoryConnector extends OMRSRepositoryConnector
         return null;
     }
 
+    /**
+     * Retrieve the names of the provided Apache Atlas entity type and all of its supertypes (however distant).
+     *
+     * @param type the Apache Atlas entity type
+     * @return {@code Set<String>} the type itself and its supertypes, or an empty set if the type is not known
+     */
+    public Set<String> getAtlasEntityTypeAndSuperTypes(String type) {
+        if (type == null || !atlasEntityTypesByName.containsKey(type)) {
+            return Collections.emptySet();
+        }
+        return atlasEntitySuperTypesByName.computeIfAbsent(type, name -> {
+            Set<String> typeAndSuperTypes = new LinkedHashSet<>();
+            Deque<String> toVisit = new ArrayDeque<>();
+            toVisit.add(name);
+            while (!toVisit.isEmpty()) {
+                String next = toVisit.poll();
+                if (typeAndSuperTypes.add(next)) {
+                    AtlasEntityDef atlasEntityDef = atlasEntityTypesByName.get(next);
+                    if (atlasEntityDef != null && atlasEntityDef.getSuperTypes() != null) {
+                        toVisit.addAll(atlasEntityDef.getSuperTypes());
+                    }
+                }
+            }
+            return Collections.unmodifiableSet(typeAndSuperTypes);
+        });
+    }
+
+    /**
+     * Indicates whether the provided attribute is defined on the provided Apache Atlas entity type, either directly or
+     * through one of its supertypes (true), or not (false).
+     *
+     * @param type the Apache Atlas entity type
+     * @param attributeName the name of the attribute
+     * @return boolean
+     */
+    public boolean isAtlasEntityAttributeDefined(String type, String attributeName) {
+        for (String candidate : getAtlasEntityTypeAndSuperTypes(type)) {
+            AtlasEntityDef atlasEntityDef = atlasEntityTypesByName.get(candidate);
+            if (atlasEntityDef != null && atlasEntityDef.getAttribute(attributeName) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indicates whether the provided attribute is defined as unique on the provided Apache Atlas entity type, either
+     * directly or through one of its supertypes (true), or not (false).
+     *
+     * @param type the Apache Atlas entity type
+     * @param attributeName the name of the attribute
+     * @return boolean
+     */
+    public boolean isAtlasEntityAttributeUnique(String type, String attributeName) {
+        for (String candidate : getAtlasEntityTypeAndSuperTypes(type)) {
+            AtlasEntityDef atlasEntityDef = atlasEntityTypesByName.get(candidate);
+            if (atlasEntityDef != null && atlasEntityDef.getAttribute(attributeName) != null) {
+                return atlasEntityDef.getAttribute(attributeName).getIsUnique();
+            }
+        }
+        return false;
+    }
+
     /**
      * Save the entity provided to Apache Atlas.
      *
@@ -295,6 +749,58 @@ public class ApacheAtlasOMRSRepositoryConnector extends OMRSRepositoryConnector
             String username = connectionProperties.getUserId();
             String password = connectionProperties.getClearPassword();
 
+            Map<String, Object> configProperties = connectionProperties.getConfigurationProperties();
+            bulkFetchBatchSize = getIntegerConfigurationProperty(configProperties,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.BULK_FETCH_BATCH_SIZE,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_BULK_FETCH_BATCH_SIZE);
+            headerOnlyMapping = getBooleanConfigurationProperty(configProperties,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.HEADER_ONLY_MAPPING,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_HEADER_ONLY_MAPPING);
+            int entityCacheSize = getIntegerConfigurationProperty(configProperties,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.ENTITY_CACHE_SIZE,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_ENTITY_CACHE_SIZE);
+            int entityCacheTTL = getIntegerConfigurationProperty(configProperties,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.ENTITY_CACHE_TTL,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_ENTITY_CACHE_TTL);
+            entityCache = new ExpiringCache<>(entityCacheSize, entityCacheTTL * 1000L);
+            int unknownEntityCacheSize = getIntegerConfigurationProperty(configProperties,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.UNKNOWN_ENTITY_CACHE_SIZE,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_UNKNOWN_ENTITY_CACHE_SIZE);
+            int unknownEntityCacheTTL = getIntegerConfigurationProperty(configProperties,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.UNKNOWN_ENTITY_CACHE_TTL,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_UNKNOWN_ENTITY_CACHE_TTL);
+            unknownEntityCache = new ExpiringCache<>(unknownEntityCacheSize, unknownEntityCacheTTL * 1000L);
+            mappedEntityCacheSize = getIntegerConfigurationProperty(configProperties,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.MAPPED_ENTITY_CACHE_SIZE,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_MAPPED_ENTITY_CACHE_SIZE);
+            searchContinuationCacheSize = getIntegerConfigurationProperty(configProperties,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.SEARCH_CONTINUATION_CACHE_SIZE,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_SEARCH_CONTINUATION_CACHE_SIZE);
+            unionPropertyValueSearch = getBooleanConfigurationProperty(configProperties,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.UNION_PROPERTY_VALUE_SEARCH,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_UNION_PROPERTY_VALUE_SEARCH);
+            queryResultCacheSize = getIntegerConfigurationProperty(configProperties,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.QUERY_RESULT_CACHE_SIZE,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_QUERY_RESULT_CACHE_SIZE);
+            queryResultCacheTTL = getIntegerConfigurationProperty(configProperties,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.QUERY_RESULT_CACHE_TTL,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_QUERY_RESULT_CACHE_TTL);
+            pagingSessionCacheSize = getIntegerConfigurationProperty(configProperties,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.PAGING_SESSION_CACHE_SIZE,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_PAGING_SESSION_CACHE_SIZE);
+            quickSearch = getBooleanConfigurationProperty(configProperties,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.QUICK_SEARCH,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_QUICK_SEARCH);
+
+            int hydrationThreads = getIntegerConfigurationProperty(configProperties,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.HYDRATION_THREADS,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_HYDRATION_THREADS);
+            hydrationExecutor = getBoundedExecutor(hydrationThreads, "atlas-hydration-");
+            int searchThreads = getIntegerConfigurationProperty(configProperties,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.SEARCH_THREADS,
+                    ApacheAtlasOMRSRepositoryConnectorProvider.DEFAULT_SEARCH_THREADS);
+            searchExecutor = getBoundedExecutor(searchThreads, "atlas-search-");
+
             this.atlasClient = new AtlasClientV2(new String[]{getBaseURL()}, new String[]{username, password});
 
             // Test REST API connection by attempting to retrieve types list
@@ -330,6 +836,71 @@ public class ApacheAtlasOMRSRepositoryConnector extends OMRSRepositoryConnector
 
     }
 
+    /**
+     * Create an executor with a fixed pool of (daemon) threads, to cap the amount of concurrent work it does.
+     *
+     * @param threads the number of threads in the pool
+     * @param threadNamePrefix the prefix for the name of each thread in the pool
+     * @return ExecutorService, or null if there would be no more than a single thread (so work should be sequential)
+     */
+    private ExecutorService getBoundedExecutor(int threads, String threadNamePrefix) {
+        if (threads <= 1) {
+            return null;
+        }
+        AtomicInteger threadCount = new AtomicInteger(0);
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + getServerName() + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Retrieve the integer value of the named configuration property, or the default if it is not set or not a number.
+     *
+     * @param configProperties the configuration properties of the connection
+     * @param propertyName the name of the configuration property to retrieve
+     * @param defaultValue the value to use if the property is not set (or is invalid)
+     * @return int
+     */
+    private int getIntegerConfigurationProperty(Map<String, Object> configProperties, String propertyName, int defaultValue) {
+        int value = defaultValue;
+        if (configProperties != null) {
+            Object candidate = configProperties.get(propertyName);
+            if (candidate instanceof Number) {
+                value = ((Number) candidate).intValue();
+            } else if (candidate != null) {
+                try {
+                    value = Integer.parseInt(candidate.toString().trim());
+                } catch (NumberFormatException e) {
+                    log.warn("Unable to parse configuration property '{}' as a number -- using default: {}", propertyName, defaultValue);
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Retrieve the boolean value of the named configuration property, or the default if it is not set.
+     *
+     * @param configProperties the configuration properties of the connection
+     * @param propertyName the name of the configuration property to retrieve
+     * @param defaultValue the value to use if the property is not set
+     * @return boolean
+     */
+    private boolean getBooleanConfigurationProperty(Map<String, Object> configProperties, String propertyName, boolean defaultValue) {
+        boolean value = defaultValue;
+        if (configProperties != null) {
+            Object candidate = configProperties.get(propertyName);
+            if (candidate instanceof Boolean) {
+                value = (Boolean) candidate;
+            } else if (candidate != null) {
+                value = Boolean.parseBoolean(candidate.toString().trim());
+            }
+        }
+        return value;
+    }
+
     /**
      * Throws a ConnectorCheckedException using the provided parameters.
      * @param errorCode the error code for the exception
@@ -372,4 +943,27 @@ public class ApacheAtlasOMRSRepositoryConnector extends OMRSRepositoryConnector
         }
     }
 
+    /**
+     * The error raised for a GUID that Apache Atlas recently reported as not known, when it is not asked again: a new
+     * instance is raised for each request, carrying the same status Apache Atlas originally reported.
+     */
+    private static class UnknownEntityException extends AtlasServiceException {
+
+        private final ClientResponse.Status status;
+
+        UnknownEntityException(String guid, ClientResponse.Status status) {
+            super("Apache Atlas recently reported entity " + guid + " as not known: " + status, (Exception) null);
+            this.status = status;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public ClientResponse.Status getStatus() {
+            return status;
+        }
+
+    }
+
 }
@@ -5,6 +5,9 @@ package org.odpi.egeria.connectors.apache.atlas.repositoryconnector;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnectorProviderBase;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * In the Open Connector Framework (OCF), a ConnectorProvider is a factory for a specific type of connector.
  * The ApacheAtlasOMRSRepositoryConnectorProvider is the connector provider for the ApacheAtlasOMRSRepositoryConnector.
@@ -21,6 +24,110 @@ public class ApacheAtlasOMRSRepositoryConnectorProvider extends OMRSRepositoryCo
     static final String CONNECTOR_TYPE_NAME = "OMRS Apache Atlas Repository Connector";
     static final String CONNECTOR_TYPE_DESC = "OMRS Apache Atlas Repository Connector that processes events from the Apache Atlas repository store.";
 
+    /**
+     * Maximum number of entity GUIDs to retrieve from Apache Atlas in a single bulk request, when translating search
+     * results (a value of 1 or less disables bulk retrieval).
+     */
+    public static final String BULK_FETCH_BATCH_SIZE = "bulkFetchBatchSize";
+    static final int DEFAULT_BULK_FETCH_BATCH_SIZE = 100;
+
+    /**
+     * Whether to translate search results directly from the entity headers Apache Atlas returns for a search (where
+     * those headers carry every mapped attribute), rather than always retrieving each entity in full.
+     */
+    public static final String HEADER_ONLY_MAPPING = "headerOnlyMapping";
+    static final boolean DEFAULT_HEADER_ONLY_MAPPING = false;
+
+    /**
+     * Maximum number of Apache Atlas entities to hold in the connector's entity cache (0 disables the cache).
+     */
+    public static final String ENTITY_CACHE_SIZE = "entityCacheSize";
+    static final int DEFAULT_ENTITY_CACHE_SIZE = 0;
+
+    /**
+     * Number of seconds for which an Apache Atlas entity remains in the connector's entity cache.
+     */
+    public static final String ENTITY_CACHE_TTL = "entityCacheTTL";
+    static final int DEFAULT_ENTITY_CACHE_TTL = 60;
+
+    /**
+     * Maximum number of mapped OMRS entities (details and summaries) to keep for re-use while the Apache Atlas entity
+     * from which they were mapped is unchanged (0 disables re-use).
+     */
+    public static final String MAPPED_ENTITY_CACHE_SIZE = "mappedEntityCacheSize";
+    static final int DEFAULT_MAPPED_ENTITY_CACHE_SIZE = 1000;
+
+    /**
+     * Maximum number of entities the connector will retrieve from Apache Atlas concurrently, when translating search
+     * results one entity at a time (a value of 1 or less retrieves them sequentially).
+     */
+    public static final String HYDRATION_THREADS = "hydrationThreads";
+    static final int DEFAULT_HYDRATION_THREADS = 1;
+
+    /**
+     * Maximum number of searches the connector will run against Apache Atlas concurrently, when a single OMRS search
+     * needs to be run against multiple Apache Atlas types (a value of 1 or less runs them sequentially).
+     */
+    public static final String SEARCH_THREADS = "searchThreads";
+    static final int DEFAULT_SEARCH_THREADS = 1;
+
+    /**
+     * Maximum number of GUIDs to remember as not known to Apache Atlas, so that repeated requests for them (typically
+     * for instances homed in other repositories of the cohort) do not each need a call to Apache Atlas (0 disables it).
+     */
+    public static final String UNKNOWN_ENTITY_CACHE_SIZE = "unknownEntityCacheSize";
+    static final int DEFAULT_UNKNOWN_ENTITY_CACHE_SIZE = 0;
+
+    /**
+     * Number of seconds for which a GUID is remembered as not known to Apache Atlas.
+     */
+    public static final String UNKNOWN_ENTITY_CACHE_TTL = "unknownEntityCacheTTL";
+    static final int DEFAULT_UNKNOWN_ENTITY_CACHE_TTL = 30;
+
+    /**
+     * Maximum number of search continuations to remember, each recording how far into the results of every Apache
+     * Atlas type a page of a multi-type search reached, so that the next page can resume from there (0 disables them).
+     */
+    public static final String SEARCH_CONTINUATION_CACHE_SIZE = "searchContinuationCacheSize";
+    static final int DEFAULT_SEARCH_CONTINUATION_CACHE_SIZE = 100;
+
+    /**
+     * Whether a search by property value across multiple Apache Atlas types should search (in a single request) a common
+     * Apache Atlas supertype of any types whose searchable attributes are all defined on that supertype, rather than
+     * searching each of those types separately.
+     */
+    public static final String UNION_PROPERTY_VALUE_SEARCH = "unionPropertyValueSearch";
+    static final boolean DEFAULT_UNION_PROPERTY_VALUE_SEARCH = true;
+
+    /**
+     * Maximum number of search requests whose results to remember, so that an identical request can be answered without
+     * searching Apache Atlas again (0 disables it). Results are forgotten as soon as the event mapper receives a change to
+     * an entity of any of the Apache Atlas types that were searched.
+     */
+    public static final String QUERY_RESULT_CACHE_SIZE = "queryResultCacheSize";
+    static final int DEFAULT_QUERY_RESULT_CACHE_SIZE = 0;
+
+    /**
+     * Number of seconds for which the results of a search request are remembered.
+     */
+    public static final String QUERY_RESULT_CACHE_TTL = "queryResultCacheTTL";
+    static final int DEFAULT_QUERY_RESULT_CACHE_TTL = 10;
+
+    /**
+     * Maximum number of paging sessions to remember, each recording the GUIDs of every result of a multi-type search
+     * that Apache Atlas cannot order itself (eg. one sorted by property), in order, so that later pages of the search
+     * only need to retrieve the entities on the page (0 disables them).
+     */
+    public static final String PAGING_SESSION_CACHE_SIZE = "pagingSessionCacheSize";
+    static final int DEFAULT_PAGING_SESSION_CACHE_SIZE = 0;
+
+    /**
+     * Whether a search by property value for a single word contained anywhere in a string property should be run through
+     * the Apache Atlas quick search (which uses its free-text index), rather than a basic search.
+     */
+    public static final String QUICK_SEARCH = "quickSearch";
+    static final boolean DEFAULT_QUICK_SEARCH = false;
+
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
      * OMRS Connector implementation.
@@ -38,6 +145,24 @@ public class ApacheAtlasOMRSRepositoryConnectorProvider extends OMRSRepositoryCo
         connectorType.setDescription(CONNECTOR_TYPE_DESC);
         connectorType.setConnectorProviderClassName(this.getClass().getName());
 
+        List<String> recognizedConfigurationProperties = new ArrayList<>();
+        recognizedConfigurationProperties.add(BULK_FETCH_BATCH_SIZE);
+        recognizedConfigurationProperties.add(HEADER_ONLY_MAPPING);
+        recognizedConfigurationProperties.add(ENTITY_CACHE_SIZE);
+        recognizedConfigurationProperties.add(ENTITY_CACHE_TTL);
+        recognizedConfigurationProperties.add(MAPPED_ENTITY_CACHE_SIZE);
+        recognizedConfigurationProperties.add(HYDRATION_THREADS);
+        recognizedConfigurationProperties.add(SEARCH_THREADS);
+        recognizedConfigurationProperties.add(UNKNOWN_ENTITY_CACHE_SIZE);
+        recognizedConfigurationProperties.add(UNKNOWN_ENTITY_CACHE_TTL);
+        recognizedConfigurationProperties.add(SEARCH_CONTINUATION_CACHE_SIZE);
+        recognizedConfigurationProperties.add(UNION_PROPERTY_VALUE_SEARCH);
+        recognizedConfigurationProperties.add(QUERY_RESULT_CACHE_SIZE);
+        recognizedConfigurationProperties.add(QUERY_RESULT_CACHE_TTL);
+        recognizedConfigurationProperties.add(PAGING_SESSION_CACHE_SIZE);
+        recognizedConfigurationProperties.add(QUICK_SEARCH);
+        connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
+
         super.connectorTypeBean = connectorType;
 
     }
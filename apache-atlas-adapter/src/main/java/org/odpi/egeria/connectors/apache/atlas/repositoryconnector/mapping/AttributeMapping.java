@@ -3,6 +3,7 @@
 package org.odpi.egeria.connectors.apache.atlas.repositoryconnector.mapping;
 
 import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.stores.AttributeTypeDefStore;
+import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.stores.ExpiringCache;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
@@ -12,6 +13,7 @@ import org.slf4j.LoggerFactory;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.*;
+import java.util.regex.Pattern;
 
 /**
  * The base class for all mappings between OMRS AttributeTypeDefs and Apache Atlas properties.
@@ -20,6 +22,14 @@ public abstract class AttributeMapping {
 
     private static final Logger log = LoggerFactory.getLogger(AttributeMapping.class);
 
+    private static final String QUOTE_START = "\\Q";
+    private static final String QUOTE_END = "\\E";
+    private static final String ANYTHING = ".*";
+
+    private static final int PATTERN_CACHE_SIZE = 500;
+    private static final long PATTERN_CACHE_TTL = 60 * 60 * 1000L;
+    private static final ExpiringCache<String, Pattern> patternCache = new ExpiringCache<>(PATTERN_CACHE_SIZE, PATTERN_CACHE_TTL);
+
     private AttributeMapping() {
         // Do nothing...
     }
@@ -89,7 +99,7 @@ public abstract class AttributeMapping {
                             String stringVal = (String) primitivePropertyValue.getPrimitiveValue();
                             if (stringVal != null) {
                                 String toCompare = (String) atlasValue;
-                                bMatch = toCompare.matches(stringVal);
+                                bMatch = stringMatches(stringVal, toCompare);
                             }
                             break;
                         case OM_PRIMITIVE_TYPE_DATE:
@@ -116,6 +126,66 @@ public abstract class AttributeMapping {
 
     }
 
+    /**
+     * Indicates whether the provided string matches the provided regular expression (true) or not (false). The exact,
+     * starts-with, ends-with and contains regular expressions produced by the OMRSRepositoryHelper (a single quoted
+     * literal, optionally preceded and / or followed by ".*") are evaluated directly as string comparisons; any other
+     * regular expression is compiled only once, and then re-used while it remains in a bounded cache.
+     *
+     * @param regex the regular expression to match
+     * @param toCompare the string to compare against the regular expression
+     * @return boolean
+     */
+    private static boolean stringMatches(String regex, String toCompare) {
+
+        boolean anyPrefix = regex.startsWith(ANYTHING);
+        String remainder = anyPrefix ? regex.substring(ANYTHING.length()) : regex;
+        boolean anySuffix = remainder.endsWith(ANYTHING);
+        if (anySuffix) {
+            remainder = remainder.substring(0, remainder.length() - ANYTHING.length());
+        }
+        if (remainder.length() >= QUOTE_START.length() + QUOTE_END.length()
+                && remainder.startsWith(QUOTE_START) && remainder.endsWith(QUOTE_END)) {
+            String literal = remainder.substring(QUOTE_START.length(), remainder.length() - QUOTE_END.length());
+            // Only a single quoted literal can be compared directly, and ".*" will not match across line terminators
+            if (!literal.contains(QUOTE_END) && (!(anyPrefix || anySuffix) || !hasLineTerminator(toCompare))) {
+                if (anyPrefix && anySuffix) {
+                    return toCompare.contains(literal);
+                } else if (anyPrefix) {
+                    return toCompare.endsWith(literal);
+                } else if (anySuffix) {
+                    return toCompare.startsWith(literal);
+                } else {
+                    return toCompare.equals(literal);
+                }
+            }
+        }
+
+        Pattern pattern = patternCache.get(regex);
+        if (pattern == null) {
+            pattern = Pattern.compile(regex);
+            patternCache.put(regex, pattern);
+        }
+        return pattern.matcher(toCompare).matches();
+
+    }
+
+    /**
+     * Indicates whether the provided string contains any character that the regular expression "." does not match.
+     *
+     * @param value the string to check
+     * @return boolean
+     */
+    private static boolean hasLineTerminator(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Add the provided property value to the set of instance properties.
      *
@@ -7,6 +7,7 @@ import org.apache.atlas.model.instance.*;
 import org.odpi.egeria.connectors.apache.atlas.auditlog.ApacheAtlasOMRSErrorCode;
 import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.ApacheAtlasOMRSRepositoryConnector;
 import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model.AtlasGuid;
+import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model.EntityLookupContext;
 import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.stores.AttributeTypeDefStore;
 import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.stores.TypeDefStore;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
@@ -28,6 +29,17 @@ public class EntityMappingAtlas2OMRS {
 
     private static final Logger log = LoggerFactory.getLogger(EntityMappingAtlas2OMRS.class);
 
+    private static final String ATLAS_CREATED_BY = "__createdBy";
+    private static final String ATLAS_MODIFIED_BY = "__modifiedBy";
+    private static final String ATLAS_CREATE_TIME = "__timestamp";
+    private static final String ATLAS_UPDATE_TIME = "__modificationTimestamp";
+    private static final Set<String> AUDIT_ATTRIBUTES = new HashSet<>(Arrays.asList(
+            ATLAS_CREATED_BY,
+            ATLAS_MODIFIED_BY,
+            ATLAS_CREATE_TIME,
+            ATLAS_UPDATE_TIME
+    ));
+
     private ApacheAtlasOMRSRepositoryConnector atlasRepositoryConnector;
     private TypeDefStore typeDefStore;
     private AttributeTypeDefStore attributeDefStore;
@@ -35,6 +47,7 @@ public class EntityMappingAtlas2OMRS {
     private AtlasEntity atlasEntity;
     private String prefix;
     private String userId;
+    private EntityLookupContext lookupContext;
 
     /**
      * Mapping itself must be initialized with various objects.
@@ -52,6 +65,27 @@ public class EntityMappingAtlas2OMRS {
                                    AtlasEntity.AtlasEntityWithExtInfo instance,
                                    String prefix,
                                    String userId) {
+        this(atlasRepositoryConnector, typeDefStore, attributeDefStore, instance, prefix, userId, new EntityLookupContext(atlasRepositoryConnector));
+    }
+
+    /**
+     * Mapping itself must be initialized with various objects.
+     *
+     * @param atlasRepositoryConnector connectivity to an Apache Atlas repository
+     * @param typeDefStore the store of mapped TypeDefs for the Atlas repository
+     * @param attributeDefStore the store of mapped AttributeTypeDefs for the Atlas repository
+     * @param instance the Atlas entity to be mapped
+     * @param prefix the prefix indicating a generated type (and GUID), or null if not generated
+     * @param userId the user through which to do the mapping
+     * @param lookupContext the entities already retrieved as part of the same request
+     */
+    public EntityMappingAtlas2OMRS(ApacheAtlasOMRSRepositoryConnector atlasRepositoryConnector,
+                                   TypeDefStore typeDefStore,
+                                   AttributeTypeDefStore attributeDefStore,
+                                   AtlasEntity.AtlasEntityWithExtInfo instance,
+                                   String prefix,
+                                   String userId,
+                                   EntityLookupContext lookupContext) {
         this.atlasRepositoryConnector = atlasRepositoryConnector;
         this.typeDefStore = typeDefStore;
         this.attributeDefStore = attributeDefStore;
@@ -59,6 +93,91 @@ public class EntityMappingAtlas2OMRS {
         this.atlasEntity = atlasEntityWithExtInfo.getEntity();
         this.prefix = prefix;
         this.userId = userId;
+        this.lookupContext = lookupContext;
+    }
+
+    /**
+     * Retrieve the names of the Apache Atlas attributes that an entity header must carry for it to be mapped directly,
+     * without retrieving the full entity.
+     *
+     * @param typeDefStore the store of mapped TypeDefs for the Atlas repository
+     * @param atlasTypeName the name of the (mapped) Apache Atlas type definition
+     * @param prefix the prefix indicating a generated type, or null if not generated
+     * @return {@code Set<String>}
+     */
+    public static Set<String> getAttributesForHeaderMapping(TypeDefStore typeDefStore,
+                                                            String atlasTypeName,
+                                                            String prefix) {
+        Set<String> attributes = new HashSet<>(AUDIT_ATTRIBUTES);
+        Map<String, String> atlasToOmrsProperties = typeDefStore.getPropertyMappingsForAtlasTypeDef(atlasTypeName, prefix);
+        if (atlasToOmrsProperties != null) {
+            attributes.addAll(atlasToOmrsProperties.keySet());
+        }
+        return attributes;
+    }
+
+    /**
+     * Construct an Apache Atlas entity from the provided entity header, so that it can be mapped without retrieving
+     * the full entity. This is only possible where the header carries every mapped attribute, the creation and
+     * modification details, and all of its classifications in full, and where the entity has never been modified (as
+     * the header does not carry the version Apache Atlas increments on every modification): otherwise, null is
+     * returned and the full entity must be retrieved instead.
+     *
+     * @param atlasRepositoryConnector connectivity to an Apache Atlas repository
+     * @param typeDefStore the store of mapped TypeDefs for the Atlas repository
+     * @param header the Apache Atlas entity header (ie. from a search result)
+     * @param prefix the prefix indicating a generated type (and GUID), or null if not generated
+     * @return AtlasEntityWithExtInfo, or null if the header does not carry enough information
+     */
+    public static AtlasEntity.AtlasEntityWithExtInfo getEntityFromHeader(ApacheAtlasOMRSRepositoryConnector atlasRepositoryConnector,
+                                                                         TypeDefStore typeDefStore,
+                                                                         AtlasEntityHeader header,
+                                                                         String prefix) {
+
+        Map<String, Object> headerAttributes = header.getAttributes();
+        if (headerAttributes == null || header.getStatus() == null) {
+            return null;
+        }
+
+        // Classifications can only be mapped if they were included in full, and not only by name
+        List<String> classificationNames = header.getClassificationNames();
+        List<AtlasClassification> classifications = header.getClassifications();
+        int namedClassifications = classificationNames == null ? 0 : classificationNames.size();
+        int fullClassifications = classifications == null ? 0 : classifications.size();
+        if (namedClassifications != fullClassifications) {
+            return null;
+        }
+
+        String mappedAtlasTypeName = getMappedAtlasTypeName(atlasRepositoryConnector, typeDefStore, header.getTypeName(), prefix);
+        if (mappedAtlasTypeName == null
+                || !headerAttributes.keySet().containsAll(getAttributesForHeaderMapping(typeDefStore, mappedAtlasTypeName, prefix))) {
+            return null;
+        }
+
+        Date createTime = getDateFromHeaderValue(headerAttributes.get(ATLAS_CREATE_TIME));
+        Date updateTime = getDateFromHeaderValue(headerAttributes.get(ATLAS_UPDATE_TIME));
+        if (createTime == null || updateTime == null || !createTime.equals(updateTime)) {
+            return null;
+        }
+
+        AtlasEntity atlasEntity = new AtlasEntity(header.getTypeName());
+        atlasEntity.setGuid(header.getGuid());
+        atlasEntity.setStatus(header.getStatus());
+        Object createdBy = headerAttributes.get(ATLAS_CREATED_BY);
+        Object updatedBy = headerAttributes.get(ATLAS_MODIFIED_BY);
+        atlasEntity.setCreatedBy(createdBy == null ? null : createdBy.toString());
+        atlasEntity.setUpdatedBy(updatedBy == null ? null : updatedBy.toString());
+        atlasEntity.setCreateTime(createTime);
+        atlasEntity.setUpdateTime(updateTime);
+        // Apache Atlas creates an entity at version 0, and (as it has not since been modified) has not yet incremented it
+        atlasEntity.setVersion(0L);
+        Map<String, Object> attributes = new HashMap<>(headerAttributes);
+        attributes.keySet().removeAll(AUDIT_ATTRIBUTES);
+        atlasEntity.setAttributes(attributes);
+        atlasEntity.setClassifications(classifications);
+
+        return new AtlasEntity.AtlasEntityWithExtInfo(atlasEntity);
+
     }
 
     /**
@@ -147,7 +266,8 @@ public class EntityMappingAtlas2OMRS {
                     // And map any other simple (non-relationship) properties that are not otherwise mapped into 'additionalProperties'
                     Map<String, String> additionalProperties = new HashMap<>();
 
-                    Set<String> nonRelationshipSet = atlasProperties.keySet();
+                    // (Copied, so that the Atlas entity itself is left untouched: it may be cached and mapped again)
+                    Set<String> nonRelationshipSet = new HashSet<>(atlasProperties.keySet());
 
                     // Remove all of the already-mapped properties from our list of non-relationship properties
                     nonRelationshipSet.removeAll(alreadyMapped);
@@ -255,8 +375,9 @@ public class EntityMappingAtlas2OMRS {
                                         typeDefStore,
                                         attributeDefStore,
                                         new AtlasGuid(atlasRelationshipGuid, relationshipPrefix),
-                                        atlasRepositoryConnector.getRelationshipByGUID(atlasRelationshipGuid),
-                                        userId);
+                                        lookupContext.getRelationshipByGUID(atlasRelationshipGuid),
+                                        userId,
+                                        lookupContext);
 
                                 Relationship omrsRelationship = mapping.getRelationship();
                                 if (omrsRelationship != null) {
@@ -286,6 +407,7 @@ public class EntityMappingAtlas2OMRS {
                     Relationship omrsRelationship = RelationshipMapping.getSelfReferencingRelationship(
                             atlasRepositoryConnector,
                             typeDefStore,
+                            lookupContext,
                             atlasGuid,
                             atlasEntity
                     );
@@ -350,6 +472,49 @@ public class EntityMappingAtlas2OMRS {
         }
     }
 
+    /**
+     * Attempt to resolve the Atlas entity type to the lowest-level Atlas type in its inheritance hierarchy that has a
+     * mapping (see getMappingForAtlasType).
+     *
+     * @param atlasRepositoryConnector connectivity to an Apache Atlas repository
+     * @param typeDefStore the store of mapped TypeDefs for the Atlas repository
+     * @param atlasTypeDefName the name of the Apache Atlas type def for which to find the mapping
+     * @param prefix the prefix indicating a generated type, or null if not generated
+     * @return String giving the name of the mapped Apache Atlas type, or null if there is none
+     */
+    private static String getMappedAtlasTypeName(ApacheAtlasOMRSRepositoryConnector atlasRepositoryConnector,
+                                                 TypeDefStore typeDefStore,
+                                                 String atlasTypeDefName,
+                                                 String prefix) {
+        String candidate = atlasTypeDefName;
+        while (candidate != null && typeDefStore.getMappedOMRSTypeDefName(candidate, prefix) == null) {
+            candidate = atlasRepositoryConnector.getParentTypeForAtlasEntityType(candidate);
+        }
+        return candidate;
+    }
+
+    /**
+     * Translate a date-based system attribute value from an Apache Atlas entity header into a Date.
+     *
+     * @param value the value of the system attribute
+     * @return Date, or null if the value cannot be translated
+     */
+    private static Date getDateFromHeaderValue(Object value) {
+        Date date = null;
+        if (value instanceof Date) {
+            date = (Date) value;
+        } else if (value instanceof Number) {
+            date = new Date(((Number) value).longValue());
+        } else if (value != null) {
+            try {
+                date = new Date(Long.parseLong(value.toString()));
+            } catch (NumberFormatException e) {
+                log.debug("Unable to translate header value into a date: {}", value);
+            }
+        }
+        return date;
+    }
+
     /**
      * Create the base skeleton of an EntitySummary, irrespective of the specific Apache Atlas object.
      *
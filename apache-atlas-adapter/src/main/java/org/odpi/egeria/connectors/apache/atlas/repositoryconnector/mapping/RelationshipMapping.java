@@ -9,6 +9,8 @@ import org.apache.atlas.model.instance.AtlasRelationship;
 import org.odpi.egeria.connectors.apache.atlas.auditlog.ApacheAtlasOMRSErrorCode;
 import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.ApacheAtlasOMRSRepositoryConnector;
 import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model.AtlasGuid;
+import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model.EntityLookupContext;
+import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model.EntityRetrievalProfile;
 import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.stores.AttributeTypeDefStore;
 import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.stores.TypeDefStore;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
@@ -36,6 +38,7 @@ public class RelationshipMapping {
     private AtlasGuid atlasGuid;
     private AtlasRelationship atlasRelationship;
     private String userId;
+    private EntityLookupContext lookupContext;
 
     /**
      * Mapping itself must be initialized with various objects.
@@ -53,12 +56,34 @@ public class RelationshipMapping {
                                AtlasGuid atlasGuid,
                                AtlasRelationship.AtlasRelationshipWithExtInfo instance,
                                String userId) {
+        this(atlasRepositoryConnector, typeDefStore, attributeDefStore, atlasGuid, instance, userId, new EntityLookupContext(atlasRepositoryConnector));
+    }
+
+    /**
+     * Mapping itself must be initialized with various objects.
+     *
+     * @param atlasRepositoryConnector connectivity to an Apache Atlas repository
+     * @param typeDefStore the store of mapped TypeDefs for the Atlas repository
+     * @param attributeDefStore the store of mapped AttributeTypeDefs for the Atlas repository
+     * @param atlasGuid the GUID that was used to retrieve this relationship
+     * @param instance the Atlas relationship to be mapped
+     * @param userId the user through which to do the mapping
+     * @param lookupContext the entities already retrieved as part of the same request
+     */
+    public RelationshipMapping(ApacheAtlasOMRSRepositoryConnector atlasRepositoryConnector,
+                               TypeDefStore typeDefStore,
+                               AttributeTypeDefStore attributeDefStore,
+                               AtlasGuid atlasGuid,
+                               AtlasRelationship.AtlasRelationshipWithExtInfo instance,
+                               String userId,
+                               EntityLookupContext lookupContext) {
         this.atlasRepositoryConnector = atlasRepositoryConnector;
         this.typeDefStore = typeDefStore;
         this.attributeDefStore = attributeDefStore;
         this.atlasGuid = atlasGuid;
         this.atlasRelationship = instance.getRelationship();
         this.userId = userId;
+        this.lookupContext = lookupContext;
     }
 
     /**
@@ -89,7 +114,8 @@ public class RelationshipMapping {
             ep1 = RelationshipMapping.getEntityProxyForObject(
                     atlasRepositoryConnector,
                     typeDefStore,
-                    atlasRepositoryConnector.getEntityByGUID(atlasEp1.getGuid(), true, true).getEntity(),
+                    lookupContext,
+                    lookupContext.getEntityByGUID(atlasEp1.getGuid(), EntityRetrievalProfile.ENTITY).getEntity(),
                     mapping.getPrefixOne(),
                     userId
             );
@@ -100,7 +126,8 @@ public class RelationshipMapping {
             ep2 = RelationshipMapping.getEntityProxyForObject(
                     atlasRepositoryConnector,
                     typeDefStore,
-                    atlasRepositoryConnector.getEntityByGUID(atlasEp2.getGuid(), true, true).getEntity(),
+                    lookupContext,
+                    lookupContext.getEntityByGUID(atlasEp2.getGuid(), EntityRetrievalProfile.ENTITY).getEntity(),
                     mapping.getPrefixTwo(),
                     userId
             );
@@ -212,6 +239,25 @@ public class RelationshipMapping {
                                                               TypeDefStore typeDefStore,
                                                               AtlasGuid relationshipGUID,
                                                               AtlasEntity entity) throws RepositoryErrorException {
+        return getSelfReferencingRelationship(atlasRepositoryConnector, typeDefStore, new EntityLookupContext(atlasRepositoryConnector), relationshipGUID, entity);
+    }
+
+    /**
+     * Setup a self-referencing relationship using the provided prefix and Apache Atlas entity.
+     *
+     * @param atlasRepositoryConnector connectivity to an Apache Atlas environment
+     * @param typeDefStore store of TypeDef mappings
+     * @param lookupContext the entities already retrieved as part of the same request
+     * @param relationshipGUID the GUID of the relationship
+     * @param entity the entity for which the self-referencing relationship should be generated
+     * @return Relationship
+     * @throws RepositoryErrorException when unable to map the Relationship
+     */
+    public static Relationship getSelfReferencingRelationship(ApacheAtlasOMRSRepositoryConnector atlasRepositoryConnector,
+                                                              TypeDefStore typeDefStore,
+                                                              EntityLookupContext lookupContext,
+                                                              AtlasGuid relationshipGUID,
+                                                              AtlasEntity entity) throws RepositoryErrorException {
 
         Relationship omrsRelationship = null;
         String prefix = relationshipGUID.getGeneratedPrefix();
@@ -223,6 +269,7 @@ public class RelationshipMapping {
             EntityProxy ep1 = RelationshipMapping.getEntityProxyForObject(
                     atlasRepositoryConnector,
                     typeDefStore,
+                    lookupContext,
                     entity,
                     mapping.getPrefixOne(),
                     null
@@ -230,6 +277,7 @@ public class RelationshipMapping {
             EntityProxy ep2 = RelationshipMapping.getEntityProxyForObject(
                     atlasRepositoryConnector,
                     typeDefStore,
+                    lookupContext,
                     entity,
                     mapping.getPrefixTwo(),
                     null
@@ -336,9 +384,37 @@ public class RelationshipMapping {
                                                       AtlasEntity atlasObj,
                                                       String entityPrefix,
                                                       String userId) {
+        return getEntityProxyForObject(atlasRepositoryConnector, typeDefStore, null, atlasObj, entityPrefix, userId);
+    }
+
+    /**
+     * Retrieves an EntityProxy object for the provided Apache Atlas object, re-using any proxy for the same entity that
+     * was already built as part of the same request.
+     *
+     * @param atlasRepositoryConnector OMRS connector to the Apache Atlas repository
+     * @param typeDefStore store of mapped TypeDefs
+     * @param lookupContext the entities already retrieved as part of the same request (or null if there is none)
+     * @param atlasObj the Apache Atlas object for which to retrieve an EntityProxy
+     * @param entityPrefix the prefix used for the entity, if it is a generated entity (null if not generated)
+     * @param userId the user through which to retrieve the EntityProxy (unused)
+     * @return EntityProxy
+     */
+    public static EntityProxy getEntityProxyForObject(ApacheAtlasOMRSRepositoryConnector atlasRepositoryConnector,
+                                                      TypeDefStore typeDefStore,
+                                                      EntityLookupContext lookupContext,
+                                                      AtlasEntity atlasObj,
+                                                      String entityPrefix,
+                                                      String userId) {
 
         final String methodName = "getEntityProxyForObject";
 
+        if (lookupContext != null && atlasObj != null) {
+            EntityProxy alreadyMapped = lookupContext.getEntityProxy(new AtlasGuid(atlasObj.getGuid(), entityPrefix));
+            if (alreadyMapped != null) {
+                return alreadyMapped;
+            }
+        }
+
         EntityProxy entityProxy = null;
         if (atlasObj != null) {
 
@@ -383,6 +459,9 @@ public class RelationshipMapping {
                 entityProxy.setUpdatedBy(atlasObj.getUpdatedBy());
                 entityProxy.setUpdateTime(atlasObj.getUpdateTime());
                 entityProxy.setVersion(atlasObj.getVersion());
+                if (lookupContext != null) {
+                    lookupContext.addEntityProxy(atlasGuid, entityProxy);
+                }
             } catch (TypeErrorException e) {
                 log.error("Unable to create new EntityProxy.", e);
             }
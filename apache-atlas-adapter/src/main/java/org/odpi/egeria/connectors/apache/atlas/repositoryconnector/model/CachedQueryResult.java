@@ -0,0 +1,46 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Captures the results of a single search request, along with the Apache Atlas types that were searched to produce
+ * them, so that the results can be re-used for an identical request until an entity of one of those types changes.
+ */
+public class CachedQueryResult {
+
+    private final List<EntityDetail> results;
+    private final Set<String> atlasTypeNames;
+
+    /**
+     * Create a new record of the results of a search.
+     *
+     * @param results the results of the search (or null if there were none)
+     * @param atlasTypeNames the names of the Apache Atlas types that were searched
+     */
+    public CachedQueryResult(List<EntityDetail> results, Set<String> atlasTypeNames) {
+        this.results = results == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(results));
+        this.atlasTypeNames = Collections.unmodifiableSet(atlasTypeNames);
+    }
+
+    /**
+     * Retrieve a copy of the results of the search (empty if there were none).
+     *
+     * @return {@code List<EntityDetail>}
+     */
+    public List<EntityDetail> getResults() { return new ArrayList<>(results); }
+
+    /**
+     * Retrieve the names of the Apache Atlas types that were searched.
+     *
+     * @return {@code Set<String>}
+     */
+    public Set<String> getAtlasTypeNames() { return atlasTypeNames; }
+
+}
@@ -0,0 +1,77 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A pre-built Apache Atlas domain-specific language (DSL) query, into which only the literal values of a particular
+ * search need to be bound.
+ *
+ * A template is compiled from a query that was built using parameter markers (see getParameterMarker) in place of each
+ * literal value, so that every search of the same shape (types, properties, criteria and ordering) can re-use it.
+ */
+public class DSLQueryTemplate {
+
+    private static final char MARKER_DELIMITER = '\u0001';
+
+    private final List<String> fragments;
+    private final List<Integer> parameters;
+
+    private DSLQueryTemplate(List<String> fragments, List<Integer> parameters) {
+        this.fragments = fragments;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Retrieve the marker to use in place of the literal value of a parameter, when building a query to compile.
+     *
+     * @param index the index of the parameter
+     * @return String
+     */
+    public static String getParameterMarker(int index) {
+        return MARKER_DELIMITER + Integer.toString(index) + MARKER_DELIMITER;
+    }
+
+    /**
+     * Compile a template from the provided query, built with parameter markers in place of its literal values.
+     *
+     * @param query the query to compile
+     * @return DSLQueryTemplate
+     */
+    public static DSLQueryTemplate compile(String query) {
+        List<String> fragments = new ArrayList<>();
+        List<Integer> parameters = new ArrayList<>();
+        int start = 0;
+        int open = query.indexOf(MARKER_DELIMITER);
+        while (open >= 0) {
+            int close = query.indexOf(MARKER_DELIMITER, open + 1);
+            if (close < 0) {
+                break;
+            }
+            fragments.add(query.substring(start, open));
+            parameters.add(Integer.parseInt(query.substring(open + 1, close)));
+            start = close + 1;
+            open = query.indexOf(MARKER_DELIMITER, start);
+        }
+        fragments.add(query.substring(start));
+        return new DSLQueryTemplate(fragments, parameters);
+    }
+
+    /**
+     * Bind the provided literal values into the template, to produce a query that can be run.
+     *
+     * @param values the literal values, in the order of the parameter indexes
+     * @return String the query
+     */
+    public String bind(List<String> values) {
+        StringBuilder sb = new StringBuilder(fragments.get(0));
+        for (int i = 0; i < parameters.size(); i++) {
+            sb.append(values.get(parameters.get(i)));
+            sb.append(fragments.get(i + 1));
+        }
+        return sb.toString();
+    }
+
+}
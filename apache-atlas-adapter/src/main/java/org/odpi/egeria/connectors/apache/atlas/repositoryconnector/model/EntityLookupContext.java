@@ -0,0 +1,148 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model;
+
+import org.apache.atlas.AtlasServiceException;
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasRelationship;
+import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.ApacheAtlasOMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Remembers the Apache Atlas entities and relationships (and the OMRS entity proxies built from them) that have already
+ * been retrieved while handling a single OMRS request, so that each distinct instance is only retrieved from Apache Atlas
+ * once per request -- for example, when the same entity is at one end of every relationship being mapped.
+ *
+ * A context should only ever be used for a single request, and then discarded: it makes no attempt to notice changes
+ * made in Apache Atlas after an entity was first retrieved.
+ */
+public class EntityLookupContext {
+
+    private final ApacheAtlasOMRSRepositoryConnector atlasRepositoryConnector;
+    private final Map<String, Map<Integer, AtlasEntity.AtlasEntityWithExtInfo>> entitiesByGuid;
+    private final Map<String, AtlasRelationship.AtlasRelationshipWithExtInfo> relationshipsByGuid;
+    private final Map<AtlasGuid, EntityProxy> proxiesByGuid;
+
+    /**
+     * Create a new, empty context for a single request.
+     *
+     * @param atlasRepositoryConnector connectivity to an Apache Atlas repository
+     */
+    public EntityLookupContext(ApacheAtlasOMRSRepositoryConnector atlasRepositoryConnector) {
+        this.atlasRepositoryConnector = atlasRepositoryConnector;
+        this.entitiesByGuid = new HashMap<>();
+        this.relationshipsByGuid = new HashMap<>();
+        this.proxiesByGuid = new HashMap<>();
+    }
+
+    /**
+     * Retrieve an Apache Atlas Entity instance by its GUID, re-using any copy already retrieved within this context
+     * that carries at least as much information as is requested.
+     *
+     * @param guid the GUID of the entity instance to retrieve
+     * @param minimalExtraInfo if true, minimize the amount of extra information retrieved about the GUID
+     * @param ignoreRelationships if true, will return only the entity (none of its relationships)
+     * @return AtlasEntityWithExtInfo
+     * @throws AtlasServiceException if there is any error retrieving the entity
+     */
+    public synchronized AtlasEntity.AtlasEntityWithExtInfo getEntityByGUID(String guid,
+                                                                           boolean minimalExtraInfo,
+                                                                           boolean ignoreRelationships) throws AtlasServiceException {
+        Map<Integer, AtlasEntity.AtlasEntityWithExtInfo> retrieved = entitiesByGuid.computeIfAbsent(guid, k -> new HashMap<>());
+        // A copy retrieved with full extra information and / or relationships is also good enough for a request
+        // that asked for less
+        for (boolean candidateMinimal : new boolean[]{ minimalExtraInfo, false }) {
+            for (boolean candidateIgnore : new boolean[]{ ignoreRelationships, false }) {
+                AtlasEntity.AtlasEntityWithExtInfo candidate = retrieved.get(getKey(candidateMinimal, candidateIgnore));
+                if (candidate != null) {
+                    return candidate;
+                }
+            }
+        }
+        AtlasEntity.AtlasEntityWithExtInfo entity = atlasRepositoryConnector.getEntityByGUID(guid, minimalExtraInfo, ignoreRelationships);
+        if (entity != null) {
+            retrieved.put(getKey(minimalExtraInfo, ignoreRelationships), entity);
+        }
+        return entity;
+    }
+
+    /**
+     * Retrieve an Apache Atlas Entity instance by its GUID, re-using any copy already retrieved within this context
+     * that carries at least as much information as the provided retrieval profile needs.
+     *
+     * @param guid the GUID of the entity instance to retrieve
+     * @param profile the retrieval profile, indicating how the entity will be mapped
+     * @return AtlasEntityWithExtInfo
+     * @throws AtlasServiceException if there is any error retrieving the entity
+     */
+    public AtlasEntity.AtlasEntityWithExtInfo getEntityByGUID(String guid,
+                                                              EntityRetrievalProfile profile) throws AtlasServiceException {
+        return getEntityByGUID(guid, profile.isMinimalExtraInfo(), profile.isIgnoreRelationships());
+    }
+
+    /**
+     * Remember an Apache Atlas Entity instance that was retrieved outside of this context.
+     *
+     * @param entity the entity instance that was retrieved
+     * @param minimalExtraInfo whether the entity was retrieved with minimal extra information
+     * @param ignoreRelationships whether the entity was retrieved without its relationships
+     */
+    public synchronized void addEntity(AtlasEntity.AtlasEntityWithExtInfo entity,
+                                       boolean minimalExtraInfo,
+                                       boolean ignoreRelationships) {
+        if (entity != null && entity.getEntity() != null) {
+            entitiesByGuid.computeIfAbsent(entity.getEntity().getGuid(), k -> new HashMap<>())
+                    .put(getKey(minimalExtraInfo, ignoreRelationships), entity);
+        }
+    }
+
+    /**
+     * Retrieve an Apache Atlas Relationship instance by its GUID, re-using any copy already retrieved within this
+     * context.
+     *
+     * @param guid the GUID of the relationship instance to retrieve
+     * @return AtlasRelationshipWithExtInfo
+     * @throws AtlasServiceException if there is any error retrieving the relationship
+     */
+    public synchronized AtlasRelationship.AtlasRelationshipWithExtInfo getRelationshipByGUID(String guid) throws AtlasServiceException {
+        AtlasRelationship.AtlasRelationshipWithExtInfo relationship = relationshipsByGuid.get(guid);
+        if (relationship == null) {
+            relationship = atlasRepositoryConnector.getRelationshipByGUID(guid);
+            if (relationship != null) {
+                relationshipsByGuid.put(guid, relationship);
+            }
+        }
+        return relationship;
+    }
+
+    /**
+     * Retrieve an entity proxy already built within this context.
+     *
+     * @param atlasGuid the GUID of the entity proxy, including any prefix for a generated entity
+     * @return EntityProxy (a copy), or null if none has been built yet
+     */
+    public synchronized EntityProxy getEntityProxy(AtlasGuid atlasGuid) {
+        EntityProxy proxy = proxiesByGuid.get(atlasGuid);
+        return proxy == null ? null : new EntityProxy(proxy);
+    }
+
+    /**
+     * Remember an entity proxy built within this context.
+     *
+     * @param atlasGuid the GUID of the entity proxy, including any prefix for a generated entity
+     * @param proxy the entity proxy
+     */
+    public synchronized void addEntityProxy(AtlasGuid atlasGuid, EntityProxy proxy) {
+        if (proxy != null) {
+            proxiesByGuid.put(atlasGuid, new EntityProxy(proxy));
+        }
+    }
+
+    private static Integer getKey(boolean minimalExtraInfo, boolean ignoreRelationships) {
+        return (minimalExtraInfo ? 1 : 0) + (ignoreRelationships ? 2 : 0);
+    }
+
+}
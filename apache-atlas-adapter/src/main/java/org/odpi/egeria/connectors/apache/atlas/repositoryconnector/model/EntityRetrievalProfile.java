@@ -0,0 +1,48 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model;
+
+/**
+ * Captures how much of an Apache Atlas entity needs to be retrieved for the different ways it can be mapped to OMRS.
+ *
+ * None of the mappings make any use of the referred entities Apache Atlas can include alongside an entity (which, for
+ * an entity like a table with many columns, can be by far the largest part of the response), so every profile asks for
+ * only the minimal extra information. Mapping an EntitySummary, EntityDetail or EntityProxy needs the same attributes
+ * and classifications of the entity itself, so they share a single profile: only mapping an entity's relationships
+ * needs Apache Atlas to include them.
+ */
+public enum EntityRetrievalProfile {
+
+    /**
+     * For mapping the entity itself (as an EntitySummary, EntityDetail or EntityProxy).
+     */
+    ENTITY(true, true),
+
+    /**
+     * For mapping an entity along with its relationships.
+     */
+    ENTITY_WITH_RELATIONSHIPS(true, false);
+
+    private final boolean minimalExtraInfo;
+    private final boolean ignoreRelationships;
+
+    EntityRetrievalProfile(boolean minimalExtraInfo, boolean ignoreRelationships) {
+        this.minimalExtraInfo = minimalExtraInfo;
+        this.ignoreRelationships = ignoreRelationships;
+    }
+
+    /**
+     * Indicates whether to minimize the amount of extra information retrieved about the entity (true) or not (false).
+     *
+     * @return boolean
+     */
+    public boolean isMinimalExtraInfo() { return minimalExtraInfo; }
+
+    /**
+     * Indicates whether to retrieve only the entity (true) or also its relationships (false).
+     *
+     * @return boolean
+     */
+    public boolean isIgnoreRelationships() { return ignoreRelationships; }
+
+}
@@ -0,0 +1,44 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Captures the sorted results (by GUID) of a search that Apache Atlas cannot page in the requested order, along with
+ * the Apache Atlas types that were searched to produce them, so that later pages can be served from the same results
+ * until an entity of one of those types changes.
+ */
+public class PagingSession {
+
+    private final List<String> guids;
+    private final Set<String> atlasTypeNames;
+
+    /**
+     * Create a new paging session over the provided results.
+     *
+     * @param guids the GUIDs of the results of the search, in the requested order
+     * @param atlasTypeNames the names of the Apache Atlas types that were searched
+     */
+    public PagingSession(List<String> guids, Set<String> atlasTypeNames) {
+        this.guids = Collections.unmodifiableList(guids);
+        this.atlasTypeNames = Collections.unmodifiableSet(atlasTypeNames);
+    }
+
+    /**
+     * Retrieve the GUIDs of the results of the search, in the requested order.
+     *
+     * @return {@code List<String>}
+     */
+    public List<String> getGuids() { return guids; }
+
+    /**
+     * Retrieve the names of the Apache Atlas types that were searched.
+     *
+     * @return {@code Set<String>}
+     */
+    public Set<String> getAtlasTypeNames() { return atlasTypeNames; }
+
+}
@@ -0,0 +1,94 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefAttribute;
+
+import java.util.Map;
+
+/**
+ * Captures a single Apache Atlas type that must be searched to find entities of an OMRS type, along with everything
+ * needed to translate the search criteria for that Apache Atlas type.
+ *
+ * The list of these that covers an OMRS type (including any of its mapped sub-types) is a search plan: it only depends
+ * on the TypeDefs, so can be re-used by every search for that OMRS type until the TypeDefs change. The maps it holds
+ * must therefore not be modified.
+ */
+public class SearchMapping {
+
+    private final String omrsTypeName;
+    private final String omrsTypeGUID;
+    private final String prefix;
+    private final String atlasTypeName;
+    private final Map<String, String> omrsPropertyMap;
+    private final Map<String, TypeDefAttribute> omrsAttributeDefs;
+
+    /**
+     * Create a new mapping to search.
+     *
+     * @param omrsTypeName the name of the OMRS type to search
+     * @param omrsTypeGUID the GUID of the OMRS type to search
+     * @param prefix the prefix (if any) of a generated OMRS type
+     * @param atlasTypeName the name of the Apache Atlas type to search
+     * @param omrsPropertyMap the mapping from OMRS property name to Apache Atlas property name
+     * @param omrsAttributeDefs the definitions of all of the OMRS type's attributes, keyed by name
+     */
+    public SearchMapping(String omrsTypeName,
+                         String omrsTypeGUID,
+                         String prefix,
+                         String atlasTypeName,
+                         Map<String, String> omrsPropertyMap,
+                         Map<String, TypeDefAttribute> omrsAttributeDefs) {
+        this.omrsTypeName = omrsTypeName;
+        this.omrsTypeGUID = omrsTypeGUID;
+        this.prefix = prefix;
+        this.atlasTypeName = atlasTypeName;
+        this.omrsPropertyMap = omrsPropertyMap;
+        this.omrsAttributeDefs = omrsAttributeDefs;
+    }
+
+    /**
+     * Retrieve the name of the OMRS type to search.
+     *
+     * @return String
+     */
+    public String getOmrsTypeName() { return omrsTypeName; }
+
+    /**
+     * Retrieve the GUID of the OMRS type to search.
+     *
+     * @return String
+     */
+    public String getOmrsTypeGUID() { return omrsTypeGUID; }
+
+    /**
+     * Retrieve the prefix of the generated OMRS type to search, or null if it is not generated.
+     *
+     * @return String
+     */
+    public String getPrefix() { return prefix; }
+
+    /**
+     * Retrieve the name of the Apache Atlas type to search.
+     *
+     * @return String
+     */
+    public String getAtlasTypeName() { return atlasTypeName; }
+
+    /**
+     * Retrieve the mapping from OMRS property name to Apache Atlas property name (or null if there are no mapped
+     * properties).
+     *
+     * @return {@code Map<String, String>}
+     */
+    public Map<String, String> getOmrsPropertyMap() { return omrsPropertyMap; }
+
+    /**
+     * Retrieve the definitions of all of the OMRS type's attributes (including those of its supertypes), keyed by
+     * attribute name (or null if they are not known).
+     *
+     * @return {@code Map<String, TypeDefAttribute>}
+     */
+    public Map<String, TypeDefAttribute> getOmrsAttributeDefs() { return omrsAttributeDefs; }
+
+}
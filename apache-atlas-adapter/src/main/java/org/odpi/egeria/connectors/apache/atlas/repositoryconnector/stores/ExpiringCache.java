@@ -0,0 +1,186 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.apache.atlas.repositoryconnector.stores;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Simple in-memory cache that is bounded both in size (least-recently used entries are evicted first) and in time
+ * (entries expire a fixed period after they were cached). A cache with a maximum size or time-to-live of zero (or less)
+ * is disabled: it will never hold any entries.
+ *
+ * @param <K> the type of key for the cache
+ * @param <V> the type of value held in the cache
+ */
+public class ExpiringCache<K, V> {
+
+    private final int maxSize;
+    private final long timeToLiveMillis;
+    private final LinkedHashMap<K, CachedValue<V>> entries;
+
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+
+    /**
+     * Create a new cache with the provided bounds.
+     *
+     * @param maxSize the maximum number of entries to hold in the cache
+     * @param timeToLiveMillis the number of milliseconds for which an entry remains valid after it is cached
+     */
+    public ExpiringCache(int maxSize, long timeToLiveMillis) {
+        this.maxSize = maxSize;
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.entries = new LinkedHashMap<K, CachedValue<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CachedValue<V>> eldest) {
+                return size() > ExpiringCache.this.maxSize;
+            }
+        };
+        this.hits = new AtomicLong(0);
+        this.misses = new AtomicLong(0);
+    }
+
+    /**
+     * Indicates whether the cache is enabled (true) or not (false).
+     *
+     * @return boolean
+     */
+    public boolean isEnabled() {
+        return maxSize > 0 && timeToLiveMillis > 0;
+    }
+
+    /**
+     * Retrieve the cached value for the provided key, if there is one that has not yet expired.
+     *
+     * @param key the key for which to retrieve the value
+     * @return V the cached value, or null if there is none
+     */
+    public synchronized V get(K key) {
+        if (!isEnabled()) {
+            return null;
+        }
+        CachedValue<V> cached = entries.get(key);
+        if (cached != null && cached.hasExpired(timeToLiveMillis)) {
+            entries.remove(key);
+            cached = null;
+        }
+        if (cached == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return cached.getValue();
+    }
+
+    /**
+     * Cache the provided value under the provided key, replacing any value already cached for the key.
+     *
+     * @param key the key under which to cache the value
+     * @param value the value to cache (null values are not cached)
+     */
+    public synchronized void put(K key, V value) {
+        if (isEnabled() && value != null) {
+            entries.put(key, new CachedValue<>(value));
+        }
+    }
+
+    /**
+     * Remove any value cached for the provided key.
+     *
+     * @param key the key for which to remove the cached value
+     */
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Remove any values cached under keys that match the provided condition.
+     *
+     * @param condition the condition a key must meet for its value to be removed
+     */
+    public synchronized void removeIf(Predicate<K> condition) {
+        Iterator<K> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            if (condition.test(keys.next())) {
+                keys.remove();
+            }
+        }
+    }
+
+    /**
+     * Remove any cached values that match the provided condition.
+     *
+     * @param condition the condition a value must meet to be removed
+     */
+    public synchronized void removeValuesIf(Predicate<V> condition) {
+        Iterator<CachedValue<V>> values = entries.values().iterator();
+        while (values.hasNext()) {
+            if (condition.test(values.next().getValue())) {
+                values.remove();
+            }
+        }
+    }
+
+    /**
+     * Remove all values from the cache.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Retrieve the number of entries currently held in the cache (including any that have expired but not yet been
+     * removed).
+     *
+     * @return int
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Retrieve the number of lookups that were answered from the cache.
+     *
+     * @return long
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Retrieve the number of lookups that could not be answered from the cache.
+     *
+     * @return long
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * A single value held in the cache, along with the time at which it was cached.
+     *
+     * @param <V> the type of value
+     */
+    private static final class CachedValue<V> {
+
+        private final V value;
+        private final long cachedAt;
+
+        CachedValue(V value) {
+            this.value = value;
+            this.cachedAt = System.currentTimeMillis();
+        }
+
+        V getValue() { return value; }
+
+        boolean hasExpired(long timeToLiveMillis) {
+            return System.currentTimeMillis() - cachedAt >= timeToLiveMillis;
+        }
+
+    }
+
+}
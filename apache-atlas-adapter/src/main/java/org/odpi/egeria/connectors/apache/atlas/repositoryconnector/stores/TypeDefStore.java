@@ -13,6 +13,7 @@ import org.springframework.core.io.ClassPathResource;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Store of implemented TypeDefs for the repository.
@@ -36,11 +37,17 @@ public class TypeDefStore {
     private Map<String, Map<String, EndpointMapping>> omrsNameToEndpointMapByPrefix;
     private Map<String, Map<String, EndpointMapping>> atlasNameToEndpointMapByPrefix;
 
+    // Search index: the mapped string-based attributes of each implemented OMRS type (OMRS name to Apache Atlas name)
+    private Map<String, Map<String, Map<String, String>>> omrsNameToStringAttributeMapByPrefix;
+
     private Set<String> unmappedTypes;
     private Set<String> superTypes;
 
     private ObjectMapper mapper;
 
+    // Incremented whenever a TypeDef is added, so that anything derived from the store knows when to be rebuilt
+    private final AtomicLong changeCount = new AtomicLong(0);
+
     public enum Endpoint {
         ONE, TWO, UNDEFINED
     }
@@ -57,6 +64,7 @@ public class TypeDefStore {
         atlasNameToAttributeMapByPrefix = new HashMap<>();
         omrsNameToEndpointMapByPrefix = new HashMap<>();
         atlasNameToEndpointMapByPrefix = new HashMap<>();
+        omrsNameToStringAttributeMapByPrefix = new HashMap<>();
         unmappedTypes = new HashSet<>();
         superTypes = new HashSet<>();
         mapper = new ObjectMapper();
@@ -395,6 +403,8 @@ public class TypeDefStore {
         omrsGuidToTypeDef.put(guid, typeDef);
         omrsNameToGuid.put(typeDef.getName(), guid);
         addAttributes(typeDef.getPropertiesDefinition(), guid, typeDef.getName());
+        addStringAttributes(guid, typeDef.getName());
+        changeCount.incrementAndGet();
     }
 
     /**
@@ -407,6 +417,17 @@ public class TypeDefStore {
         String guid = typeDef.getGUID();
         unimplementedTypeDefs.put(guid, typeDef);
         addAttributes(typeDef.getPropertiesDefinition(), guid, typeDef.getName());
+        changeCount.incrementAndGet();
+    }
+
+    /**
+     * Retrieve the number of changes (TypeDef additions) made to the store so far: if this differs from a previously
+     * retrieved value, the store has changed since that value was retrieved.
+     *
+     * @return long
+     */
+    public long getChangeCount() {
+        return changeCount.get();
     }
 
     /**
@@ -435,6 +456,79 @@ public class TypeDefStore {
         }
     }
 
+    /**
+     * Indexes the mapped string-based attributes (including those of its supertypes) of the OMRS TypeDef, for each of
+     * its mappings. (Supertypes are always added before their subtypes, so their attributes are already known.)
+     *
+     * @param guid of the OMRS TypeDef
+     * @param name of the OMRS TypeDef
+     */
+    private void addStringAttributes(String guid, String name) {
+        Map<String, Map<String, String>> mappingsByPrefix = omrsNameToAttributeMapByPrefix.get(name);
+        if (mappingsByPrefix != null) {
+            Map<String, TypeDefAttribute> attributes = new LinkedHashMap<>();
+            String nextGuid = guid;
+            while (nextGuid != null && omrsGuidToAttributeMap.containsKey(nextGuid)) {
+                for (Map.Entry<String, TypeDefAttribute> attribute : omrsGuidToAttributeMap.get(nextGuid).entrySet()) {
+                    attributes.putIfAbsent(attribute.getKey(), attribute.getValue());
+                }
+                TypeDef typeDef = omrsGuidToTypeDef.containsKey(nextGuid) ? omrsGuidToTypeDef.get(nextGuid) : unimplementedTypeDefs.get(nextGuid);
+                TypeDefLink superType = typeDef == null ? null : typeDef.getSuperType();
+                nextGuid = superType == null ? null : superType.getGUID();
+            }
+            Map<String, Map<String, String>> stringAttributesByPrefix = new HashMap<>();
+            for (Map.Entry<String, Map<String, String>> mappings : mappingsByPrefix.entrySet()) {
+                Map<String, String> stringAttributes = new LinkedHashMap<>();
+                Map<String, String> propertyMappings = mappings.getValue();
+                if (propertyMappings != null) {
+                    for (Map.Entry<String, TypeDefAttribute> attribute : attributes.entrySet()) {
+                        String atlasName = propertyMappings.get(attribute.getKey());
+                        if (atlasName != null && isStringAttribute(attribute.getValue())) {
+                            stringAttributes.put(attribute.getKey(), atlasName);
+                        }
+                    }
+                }
+                stringAttributesByPrefix.put(mappings.getKey(), Collections.unmodifiableMap(stringAttributes));
+            }
+            omrsNameToStringAttributeMapByPrefix.put(name, stringAttributesByPrefix);
+        }
+    }
+
+    /**
+     * Indicates whether the provided attribute definition is string-based (true), ie. can be searched by a string
+     * value, or not (false).
+     *
+     * @param attribute the attribute definition
+     * @return boolean
+     */
+    private boolean isStringAttribute(TypeDefAttribute attribute) {
+        AttributeTypeDef attributeTypeDef = attribute.getAttributeType();
+        if (attributeTypeDef != null && AttributeTypeDefCategory.PRIMITIVE.equals(attributeTypeDef.getCategory())) {
+            PrimitiveDefCategory primitiveDefCategory = ((PrimitiveDef) attributeTypeDef).getPrimitiveDefCategory();
+            return primitiveDefCategory.equals(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING)
+                    || primitiveDefCategory.equals(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_BYTE)
+                    || primitiveDefCategory.equals(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_CHAR);
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves a map from OMRS property name to Apache Atlas property name of only the mapped, string-based attributes
+     * (including those of its supertypes) of the provided implemented OMRS TypeDef: those against which a search for a
+     * string value can be run.
+     *
+     * @param omrsName the name of the OMRS TypeDef
+     * @param prefix the prefix (if any) when mappings to multiple types exist
+     * @return {@code Map<String, String>}, empty if there are no such attributes
+     */
+    public Map<String, String> getStringAttributeMappingsForOMRSTypeDef(String omrsName, String prefix) {
+        Map<String, Map<String, String>> stringAttributesByPrefix = omrsNameToStringAttributeMapByPrefix.get(omrsName);
+        if (stringAttributesByPrefix != null && stringAttributesByPrefix.containsKey(prefix)) {
+            return stringAttributesByPrefix.get(prefix);
+        }
+        return Collections.emptyMap();
+    }
+
     /**
      * Retrieves an unimplemented TypeDef by its GUID.
      *
@@ -39,6 +39,7 @@ public class MockConnection extends Connection {
         List<String> defaultZones = new ArrayList<>();
         defaultZones.add("default");
         configProperties.put("defaultZones", defaultZones);
+        configProperties.put("bulkFetchBatchSize", MockConstants.BULK_FETCH_BATCH_SIZE);
         setConfigurationProperties(configProperties);
 
     }
@@ -27,6 +27,7 @@ public class MockConstants {
 
     public static final String EGERIA_USER = "admin";
     public static final int EGERIA_PAGESIZE = 100;
+    public static final int BULK_FETCH_BATCH_SIZE = 4;
 
     public static final String EXAMPLE_GUID = "4fabaac3-9543-47a5-8c00-c44c81db3cac";
     public static final String EXAMPLE_TYPE_GUID = "aa8d5470-6dbc-4648-9e2f-045e5df9d2f9";
@@ -126,7 +127,7 @@ public class MockConstants {
     public static HttpRequest entityRequestWithRelationships(String guid) {
         return entityRequest(guid).withQueryStringParameters(
                 param("ignoreRelationships", "false"),
-                param("minExtInfo","false")
+                param("minExtInfo","true")
         );
     }
 
@@ -138,6 +139,35 @@ public class MockConstants {
         return request().withMethod("GET").withPath(EP_ENTITY + "guid/.*");
     }
 
+    /**
+     * Create a mock Atlas entities-by-guids (bulk) request.
+     * @return HttpRequest
+     */
+    public static HttpRequest entityBulkRequest() {
+        return request().withMethod("GET").withPath(EP_ENTITY + "bulk/?");
+    }
+
+    /**
+     * Create a mock Atlas entity-by-unique-attribute request.
+     * @param typeName the name of the type of entity to retrieve
+     * @param attributeName the name of the unique attribute
+     * @param value the value of the unique attribute
+     * @return HttpRequest
+     */
+    public static HttpRequest entityByUniqueAttributeRequest(String typeName, String attributeName, String value) {
+        return request().withMethod("GET").withPath(EP_ENTITY + "uniqueAttribute/type/" + typeName).withQueryStringParameters(
+                param("attr:" + attributeName, value)
+        );
+    }
+
+    /**
+     * Create a mock Atlas entity-by-unique-attribute request for any other entities (those that should not exist).
+     * @return HttpRequest
+     */
+    public static HttpRequest entityByUniqueAttributeRequest() {
+        return request().withMethod("GET").withPath(EP_ENTITY + "uniqueAttribute/type/.*");
+    }
+
     /**
      * Create a mock Atlas relationship-by-guid request.
      * @param guid the guid of the entity to retrieve
@@ -2,6 +2,10 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.egeria.connectors.apache.atlas.mocks;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.mockserver.client.MockServerClient;
 import org.mockserver.client.initialize.PluginExpectationInitializer;
 import org.mockserver.matchers.MatchType;
@@ -39,6 +43,7 @@ public class MockServerExpectations implements PluginExpectationInitializer {
         initializeKnownEntities(mockServerClient);
         setSearchByProperty(mockServerClient);
         setSearchByPropertySorting(mockServerClient);
+        setSearchByPropertyPaging(mockServerClient);
         setSearchByPropertyValue(mockServerClient);
         setSearchByClassification(mockServerClient);
 
@@ -66,6 +71,7 @@ public class MockServerExpectations implements PluginExpectationInitializer {
             for (Resource instanceExample : instanceExamples) {
                 setDetailsByGuid(mockServerClient, instanceExample);
             }
+            setDetailsInBulk(mockServerClient, instanceExamples);
         }
         instanceExamples = getFilesMatchingPattern("relationships_for_guid/*.json");
         if (instanceExamples != null) {
@@ -101,6 +107,31 @@ public class MockServerExpectations implements PluginExpectationInitializer {
         }
     }
 
+    private void setDetailsInBulk(MockServerClient mockServerClient, Resource[] resources) {
+        // Respond to every bulk request with all of the known entities: the connector only picks out those it
+        // requested, so this is equivalent to Apache Atlas returning only the requested entities
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode bulk = mapper.createObjectNode();
+        ArrayNode entities = bulk.putArray("entities");
+        ObjectNode referredEntities = bulk.putObject("referredEntities");
+        for (Resource resource : resources) {
+            String guid = getGuidFromFilename(resource.getFilename());
+            try {
+                JsonNode detail = mapper.readTree(getResourceFileContents("entity_by_guid" + File.separator + guid + ".json"));
+                entities.add(detail.get("entity"));
+                JsonNode referred = detail.get("referredEntities");
+                if (referred instanceof ObjectNode) {
+                    referredEntities.setAll((ObjectNode) referred);
+                }
+            } catch (IOException e) {
+                log.error("Unable to parse detailed file for bulk retrieval: {}", resource, e);
+            }
+        }
+        mockServerClient
+                .when(entityBulkRequest())
+                .respond(withResponse(bulk.toString()));
+    }
+
     private void setRelationshipsByGuid(MockServerClient mockServerClient, Resource resource) {
         URL url = null;
         try {
@@ -215,6 +246,9 @@ public class MockServerExpectations implements PluginExpectationInitializer {
                         )
                 ))
                 .respond((withResponse(getResourceFileContents("by_case" + File.separator + caseName + File.separator + "results_hive_table.json"))));
+        mockServerClient
+                .when(entityByUniqueAttributeRequest("Referenceable", "qualifiedName", "default.test_hive_table1@Sandbox"))
+                .respond(withResponse(getResourceFileContents("entity_by_guid" + File.separator + "43d06265-3f0a-451d-a4ba-30d5ea99b1a6.json")));
     }
 
     private void setSearchByPropertySorting(MockServerClient mockServerClient) {
@@ -245,6 +279,22 @@ public class MockServerExpectations implements PluginExpectationInitializer {
                 .respond(withResponse(getResourceFileContents("by_case" + File.separator + caseName + File.separator + "results_complex.json")));
     }
 
+    private void setSearchByPropertyPaging(MockServerClient mockServerClient) {
+        String caseName = "SearchByPropertyPaging";
+        setPagedResults(
+                mockServerClient,
+                "{\"typeName\":\"hbase_column\",\"excludeDeletedEntities\":false,\"includeClassificationAttributes\":true}",
+                "by_case" + File.separator + caseName + File.separator + "results_hbase_column.json",
+                2, 4
+        );
+        setPagedResults(
+                mockServerClient,
+                "{\"typeName\":\"hive_column\",\"excludeDeletedEntities\":false,\"includeClassificationAttributes\":true}",
+                "by_case" + File.separator + caseName + File.separator + "results_hive_column.json",
+                2, 4
+        );
+    }
+
     private void setSearchByPropertyValue(MockServerClient mockServerClient) {
         String caseName = "SearchByPropertyValue";
         mockServerClient.when(basicSearchRequest(
@@ -277,6 +327,20 @@ public class MockServerExpectations implements PluginExpectationInitializer {
                         MatchType.ONLY_MATCHING_FIELDS
                 )))
                 .respond(withResponse(getResourceFileContents("by_case" + File.separator + caseName + File.separator + "results_classification.json")));
+        // hbase_column and hive_column share the same string attributes, so are searched together through DataSet
+        setPagedResults(
+                mockServerClient,
+                "{\"typeName\":\"DataSet\",\"excludeDeletedEntities\":false,\"includeClassificationAttributes\":true,\"entityFilters\":{\"condition\":\"OR\",\"criterion\":[{\"attributeName\":\"description\",\"operator\":\"startsWith\",\"attributeValue\":\"default\"},{\"attributeName\":\"name\",\"operator\":\"startsWith\",\"attributeValue\":\"default\"},{\"attributeName\":\"qualifiedName\",\"operator\":\"startsWith\",\"attributeValue\":\"default\"}]}}",
+                "by_case" + File.separator + caseName + File.separator + "results_merged.json",
+                4
+        );
+        // ... where the first page of results is entirely filtered out, the next page is larger
+        setPagedResults(
+                mockServerClient,
+                "{\"typeName\":\"DataSet\",\"excludeDeletedEntities\":false,\"includeClassificationAttributes\":true,\"entityFilters\":{\"condition\":\"OR\",\"criterion\":[{\"attributeName\":\"description\",\"operator\":\"startsWith\",\"attributeValue\":\"default.test_hive_table\"},{\"attributeName\":\"name\",\"operator\":\"startsWith\",\"attributeValue\":\"default.test_hive_table\"},{\"attributeName\":\"qualifiedName\",\"operator\":\"startsWith\",\"attributeValue\":\"default.test_hive_table\"}]}}",
+                "by_case" + File.separator + caseName + File.separator + "results_merged_sparse.json",
+                4, 8
+        );
     }
 
     private void setSearchByClassification(MockServerClient mockServerClient) {
@@ -292,6 +356,39 @@ public class MockServerExpectations implements PluginExpectationInitializer {
                 .respond(withResponse(getResourceFileContents("by_case" + File.separator + caseName + File.separator + "results_complex.json")));
     }
 
+    /**
+     * Respond to the provided basic search with the page of the results in the provided file that the search asks
+     * for, from any offset into the results and for each of the provided limits.
+     * @param mockServerClient the client against which to set the expectations
+     * @param search the JSON body of the (not yet paged) basic search
+     * @param filename the file containing every result of the search
+     * @param limits the limits for which to respond
+     */
+    private void setPagedResults(MockServerClient mockServerClient, String search, String filename, int... limits) {
+        ObjectMapper mapper = new ObjectMapper();
+        try {
+            JsonNode results = mapper.readTree(getResourceFileContents(filename));
+            JsonNode entities = results.get("entities");
+            for (int offset = 0; offset <= entities.size(); offset++) {
+                for (int limit : limits) {
+                    ObjectNode request = (ObjectNode) mapper.readTree(search);
+                    request.put("offset", offset);
+                    request.put("limit", limit);
+                    ObjectNode page = results.deepCopy();
+                    ArrayNode pageEntities = page.putArray("entities");
+                    for (int i = offset; i < Math.min(offset + limit, entities.size()); i++) {
+                        pageEntities.add(entities.get(i));
+                    }
+                    mockServerClient
+                            .when(basicSearchRequest(json(request.toString(), MatchType.ONLY_MATCHING_FIELDS)))
+                            .respond(withResponse(page.toString()));
+                }
+            }
+        } catch (IOException e) {
+            log.error("Unable to parse paged results file: {}", filename, e);
+        }
+    }
+
     private void setDefaultNoTypeFound(MockServerClient mockServerClient) {
         mockServerClient
                 .when(typedefRequest())
@@ -302,6 +399,9 @@ public class MockServerExpectations implements PluginExpectationInitializer {
         mockServerClient
                 .when(entityRequest())
                 .respond(withResponse("{\"errorCode\":\"ATLAS-404-00-005\",\"errorMessage\":\"Given instance guid PLACEHOLDER is invalid/not found\"}").withStatusCode(404));
+        mockServerClient
+                .when(entityByUniqueAttributeRequest())
+                .respond(withResponse("{\"errorCode\":\"ATLAS-404-00-009\",\"errorMessage\":\"Instance Referenceable with unique attribute {qualifiedName=PLACEHOLDER} does not exist\"}").withStatusCode(404));
     }
 
     private void setDefaultNoRelationshipFound(MockServerClient mockServerClient) {
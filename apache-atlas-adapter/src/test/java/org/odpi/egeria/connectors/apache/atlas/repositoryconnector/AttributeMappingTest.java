@@ -10,6 +10,7 @@ import org.testng.annotations.Test;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Date;
+import java.util.regex.Pattern;
 
 import static org.testng.Assert.*;
 
@@ -34,6 +35,39 @@ public class AttributeMappingTest {
 
     }
 
+    @Test
+    public void testStringRegexMatching() {
+
+        String quoted = Pattern.quote("a.b");
+        testStringMatch(quoted, "a.b", true);
+        testStringMatch(quoted, "axb", false);
+        testStringMatch(quoted, "a.bc", false);
+        testStringMatch(quoted + ".*", "a.bc", true);
+        testStringMatch(quoted + ".*", "ca.b", false);
+        testStringMatch(".*" + quoted, "ca.b", true);
+        testStringMatch(".*" + quoted, "a.bc", false);
+        testStringMatch(".*" + quoted + ".*", "ca.bc", true);
+        testStringMatch(".*" + quoted + ".*", "cabc", false);
+        testStringMatch(Pattern.quote(""), "", true);
+        testStringMatch(Pattern.quote(""), "a", false);
+
+        // Literals that cannot be compared directly, and other regular expressions, must still behave as regexes
+        testStringMatch(Pattern.quote("a\\Eb"), "a\\Eb", true);
+        testStringMatch(".*" + Pattern.quote("b"), "a\nb", false);
+        testStringMatch("(?s).*" + Pattern.quote("b"), "a\nb", true);
+        testStringMatch("[a-c]+", "abc", true);
+        testStringMatch("[a-c]+", "abd", false);
+        testStringMatch("[a-c]+", "cab", true);
+
+    }
+
+    private void testStringMatch(String regex, String value, boolean expected) {
+        PrimitivePropertyValue testIPV = new PrimitivePropertyValue();
+        testIPV.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+        testIPV.setPrimitiveValue(regex);
+        assertEquals(AttributeMapping.valuesMatch(testIPV, value), expected, "Matching '" + value + "' against: " + regex);
+    }
+
     private void testEquivalence(Object test, Object otherValue, PrimitiveDefCategory category) {
         PrimitivePropertyValue testIPV = new PrimitivePropertyValue();
         testIPV.setPrimitiveDefCategory(category);
@@ -2,6 +2,14 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.egeria.connectors.apache.atlas.repositoryconnector;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mockserver.client.MockServerClient;
+import org.mockserver.model.ClearType;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.NottableString;
+import org.mockserver.model.Parameter;
+import org.mockserver.model.RequestDefinition;
 import org.odpi.egeria.connectors.apache.atlas.eventmapper.ApacheAtlasOMRSRepositoryEventMapper;
 import org.odpi.egeria.connectors.apache.atlas.mocks.MockConnection;
 import org.odpi.egeria.connectors.apache.atlas.mocks.MockConstants;
@@ -40,6 +48,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.annotations.*;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -714,6 +723,102 @@ public class ConnectorTest {
                 1
         );
 
+        // Limited to active entities, an exact qualifiedName is looked up directly rather than searched
+        List<EntityDetail> results = testFindEntitiesByProperty(
+                null,
+                "RelationalTable",
+                ip,
+                MatchCriteria.ALL,
+                5,
+                1,
+                Collections.singletonList(InstanceStatus.ACTIVE),
+                null,
+                null
+        );
+        assertEquals(results.get(0).getGUID(), "43d06265-3f0a-451d-a4ba-30d5ea99b1a6");
+
+    }
+
+    @Test
+    public void testBulkRetrieval() {
+
+        MockServerClient mockServerClient = new MockServerClient(MockConstants.ATLAS_HOST, Integer.parseInt(MockConstants.ATLAS_PORT));
+        mockServerClient.clear(MockConstants.entityBulkRequest(), ClearType.LOG);
+        mockServerClient.clear(MockConstants.entityRequest(), ClearType.LOG);
+
+        List<EntityDetail> results = testFindEntitiesByProperty(
+                "248975ec-8019-4b8a-9caf-084c8b724233",
+                "TabularSchemaType",
+                new InstanceProperties(),
+                MatchCriteria.ALL,
+                MockConstants.EGERIA_PAGESIZE,
+                10
+        );
+
+        // Every result should have been retrieved through a bulk request, in batches of no more than the configured size
+        RequestDefinition[] bulkRequests = mockServerClient.retrieveRecordedRequests(MockConstants.entityBulkRequest());
+        int batchSize = atlasRepositoryConnector.getBulkFetchBatchSize();
+        assertEquals(batchSize, MockConstants.BULK_FETCH_BATCH_SIZE);
+        assertEquals(bulkRequests.length, (results.size() + batchSize - 1) / batchSize);
+        Set<String> retrieved = new HashSet<>();
+        for (RequestDefinition bulkRequest : bulkRequests) {
+            List<String> guids = new ArrayList<>();
+            for (Parameter parameter : ((HttpRequest) bulkRequest).getQueryStringParameterList()) {
+                if (parameter.getName().getValue().equals("guid")) {
+                    for (NottableString value : parameter.getValues()) {
+                        guids.add(value.getValue());
+                    }
+                }
+            }
+            assertTrue(guids.size() > 1);
+            assertTrue(guids.size() <= batchSize);
+            retrieved.addAll(guids);
+        }
+        assertEquals(retrieved, results.stream().map(EntityDetail::getGUID).collect(Collectors.toSet()));
+        assertEquals(mockServerClient.retrieveRecordedRequests(MockConstants.entityRequest()).length, 0);
+
+    }
+
+    @Test
+    public void testSearchByPropertyPaging() {
+
+        MockServerClient mockServerClient = new MockServerClient(MockConstants.ATLAS_HOST, Integer.parseInt(MockConstants.ATLAS_PORT));
+        String typeGUID = repositoryHelper.getTypeDefByName(sourceName, "SchemaAttribute").getGUID();
+        Set<String> possibleTypes = new HashSet<>();
+        possibleTypes.add("TabularColumn");
+        possibleTypes.add("RelationalColumn");
+        int pageSize = 2;
+
+        // Without a continuation, each type's search must cover every result up to the end of the page
+        mockServerClient.clear(MockConstants.basicSearchRequest(), ClearType.LOG);
+        List<EntityDetail> secondPage = testFindEntitiesByPropertyPage(typeGUID, possibleTypes, pageSize, pageSize);
+        assertEquals(new HashSet<>(getRecordedBasicSearches(mockServerClient)), new HashSet<>(Arrays.asList("hbase_column:0:4", "hive_column:0:4")));
+
+        // The first page is filled by the first type's search alone, and the second page continues from there into
+        // the second type's search
+        List<EntityDetail> firstPage = testFindEntitiesByPropertyPage(typeGUID, possibleTypes, 0, pageSize);
+        assertEquals(firstPage.get(0).getType().getTypeDefName(), firstPage.get(1).getType().getTypeDefName());
+        assertEquals(secondPage.stream().map(e -> e.getType().getTypeDefName()).collect(Collectors.toSet()), possibleTypes);
+
+        // With the continuation of the first page, each type's search resumes from where that page stopped
+        mockServerClient.clear(MockConstants.basicSearchRequest(), ClearType.LOG);
+        List<EntityDetail> continuedPage = testFindEntitiesByPropertyPage(typeGUID, possibleTypes, pageSize, pageSize);
+        assertEquals(continuedPage.stream().map(EntityDetail::getGUID).collect(Collectors.toList()),
+                secondPage.stream().map(EntityDetail::getGUID).collect(Collectors.toList()));
+        Set<String> searches = new HashSet<>(getRecordedBasicSearches(mockServerClient));
+        assertTrue(searches.equals(new HashSet<>(Arrays.asList("hbase_column:2:2", "hive_column:0:2")))
+                || searches.equals(new HashSet<>(Arrays.asList("hive_column:2:2", "hbase_column:0:2"))));
+
+        // ... and the same for the page after that, which brings every result of both types
+        List<EntityDetail> thirdPage = testFindEntitiesByPropertyPage(typeGUID, possibleTypes, pageSize * 2, pageSize);
+        Set<String> allResults = new HashSet<>();
+        for (List<EntityDetail> page : Arrays.asList(firstPage, secondPage, thirdPage)) {
+            for (EntityDetail result : page) {
+                assertTrue(allResults.add(result.getGUID()));
+            }
+        }
+        assertEquals(allResults.size(), 6);
+
     }
 
     @Test
@@ -942,6 +1047,45 @@ public class ConnectorTest {
 
     }
 
+    @Test
+    public void testSearchByPropertyValueAcrossTypes() {
+
+        MockServerClient mockServerClient = new MockServerClient(MockConstants.ATLAS_HOST, Integer.parseInt(MockConstants.ATLAS_PORT));
+        String typeGUID = repositoryHelper.getTypeDefByName(sourceName, "SchemaAttribute").getGUID();
+        Set<String> possibleTypes = new HashSet<>();
+        possibleTypes.add("TabularColumn");
+        possibleTypes.add("RelationalColumn");
+
+        // The string attributes of hbase_column and hive_column are the same, so both are searched by a single search
+        // of their common supertype, whose results must then be limited to those two types (excluding the tables)
+        mockServerClient.clear(MockConstants.basicSearchRequest(), ClearType.LOG);
+        List<EntityDetail> results = testFindEntitiesByPropertyValue(
+                typeGUID,
+                possibleTypes,
+                null,
+                repositoryHelper.getStartsWithRegex("default"),
+                2,
+                2);
+        assertEquals(getRecordedBasicSearches(mockServerClient), Collections.singletonList("DataSet:0:4"));
+        assertEquals(results.stream().map(EntityDetail::getGUID).collect(Collectors.toList()),
+                Arrays.asList("345d9e2e-ad0f-45ac-9371-edf1fda8cc40", "4fabaac3-9543-47a5-8c00-c44c81db3cac"));
+
+        // When none of the first results pass that filter, the supertype is searched again from where it stopped, for
+        // as many results as the (even lower) selectivity suggests are needed to fill the page
+        mockServerClient.clear(MockConstants.basicSearchRequest(), ClearType.LOG);
+        results = testFindEntitiesByPropertyValue(
+                typeGUID,
+                possibleTypes,
+                null,
+                repositoryHelper.getStartsWithRegex("default.test_hive_table"),
+                2,
+                2);
+        assertEquals(getRecordedBasicSearches(mockServerClient), Arrays.asList("DataSet:0:4", "DataSet:4:8"));
+        assertEquals(results.stream().map(EntityDetail::getGUID).collect(Collectors.toList()),
+                Arrays.asList("4edc0f23-e94a-4743-9a3a-de34159372f1", "c6d28f75-b996-48d5-a1fe-a22d58c9b864"));
+
+    }
+
     @Test
     public void testSearchByClassification() {
 
@@ -1310,6 +1454,42 @@ public class ConnectorTest {
      * @param matchCriteria the criteria by which to match
      * @param pageSize to limit the results
      * @param totalNumberExpected the total number of expected results
+     * @param sequencingOrder the order by which to sequence the results
+     * @param sequencingProperty the property by which to sequence the results
+     * @return {@code List<EntityDetail>} the results of the query
+     */
+    private List<EntityDetail> testFindEntitiesByProperty(String typeGUID,
+                                                          String typeName,
+                                                          InstanceProperties matchProperties,
+                                                          MatchCriteria matchCriteria,
+                                                          int pageSize,
+                                                          int totalNumberExpected,
+                                                          SequencingOrder sequencingOrder,
+                                                          String sequencingProperty) {
+        return testFindEntitiesByProperty(
+                typeGUID,
+                typeName,
+                matchProperties,
+                matchCriteria,
+                pageSize,
+                totalNumberExpected,
+                null,
+                sequencingOrder,
+                sequencingProperty);
+    }
+
+    /**
+     * Executes a common set of tests against a list of EntityDetail objects after first searching for them by property.
+     *
+     * @param typeGUID the entity type GUID to search
+     * @param typeName the name of the type to search
+     * @param matchProperties the properties to match against
+     * @param matchCriteria the criteria by which to match
+     * @param pageSize to limit the results
+     * @param totalNumberExpected the total number of expected results
+     * @param limitResultsByStatus the statuses by which to limit the results (or null for all)
+     * @param sequencingOrder the order by which to sequence the results
+     * @param sequencingProperty the property by which to sequence the results
      * @return {@code List<EntityDetail>} the results of the query
      */
     private List<EntityDetail> testFindEntitiesByProperty(String typeGUID,
@@ -1318,6 +1498,7 @@ public class ConnectorTest {
                                                           MatchCriteria matchCriteria,
                                                           int pageSize,
                                                           int totalNumberExpected,
+                                                          List<InstanceStatus> limitResultsByStatus,
                                                           SequencingOrder sequencingOrder,
                                                           String sequencingProperty) {
 
@@ -1330,7 +1511,7 @@ public class ConnectorTest {
                     matchProperties,
                     matchCriteria,
                     0,
-                    null,
+                    limitResultsByStatus,
                     null,
                     null,
                     sequencingProperty,
@@ -1378,6 +1559,79 @@ public class ConnectorTest {
 
     }
 
+    /**
+     * Executes a common set of tests against a single page of every entity of a type, retrieved by searching for them
+     * by property.
+     *
+     * @param typeGUID the entity type GUID to search
+     * @param possibleTypes the names of the types that could be returned by the search
+     * @param fromEntityElement the starting element of the page
+     * @param pageSize the number of results in the page (all of which are expected to be filled)
+     * @return {@code List<EntityDetail>} the results of the query
+     */
+    private List<EntityDetail> testFindEntitiesByPropertyPage(String typeGUID,
+                                                              Set<String> possibleTypes,
+                                                              int fromEntityElement,
+                                                              int pageSize) {
+
+        List<EntityDetail> results = null;
+
+        try {
+            results = atlasMetadataCollection.findEntitiesByProperty(
+                    MockConstants.EGERIA_USER,
+                    typeGUID,
+                    new InstanceProperties(),
+                    MatchCriteria.ALL,
+                    fromEntityElement,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    pageSize
+            );
+        } catch (InvalidParameterException | TypeErrorException | RepositoryErrorException | PropertyErrorException | PagingErrorException | FunctionNotSupportedException | UserNotAuthorizedException e) {
+            log.error("Unable to search for entities of type '{}' from element {}.", typeGUID, fromEntityElement, e);
+            assertNull(e);
+        } catch (Exception e) {
+            log.error("Unexpected exception trying to search for entities of type '{}' from element {}.", typeGUID, fromEntityElement, e);
+            assertNull(e);
+        }
+
+        assertNotNull(results);
+        assertEquals(results.size(), pageSize);
+        for (EntityDetail result : results) {
+            assertTrue(possibleTypes.contains(result.getType().getTypeDefName()));
+        }
+
+        return results;
+
+    }
+
+    /**
+     * Retrieve the basic searches received by the mock Apache Atlas since its log of them was last cleared, each as
+     * its type name, offset and limit (separated by colons).
+     *
+     * @param mockServerClient the client through which to retrieve the searches
+     * @return {@code List<String>} the searches, in the order they were received
+     */
+    private List<String> getRecordedBasicSearches(MockServerClient mockServerClient) {
+
+        List<String> searches = new ArrayList<>();
+        ObjectMapper mapper = new ObjectMapper();
+        for (RequestDefinition request : mockServerClient.retrieveRecordedRequests(MockConstants.basicSearchRequest())) {
+            try {
+                JsonNode body = mapper.readTree(((HttpRequest) request).getBodyAsString());
+                searches.add(body.path("typeName").asText() + ":" + body.path("offset").asInt() + ":" + body.path("limit").asInt());
+            } catch (IOException e) {
+                log.error("Unable to parse recorded basic search: {}", request, e);
+                assertNull(e);
+            }
+        }
+        return searches;
+
+    }
+
     private List<EntityDetail> testFindEntitiesByClassification(String typeGUID,
                                                                 String typeName,
                                                                 String classificationName,
@@ -0,0 +1,38 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.apache.atlas.repositoryconnector;
+
+import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.model.DSLQueryTemplate;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the compilation and binding of DSL query templates.
+ */
+public class DSLQueryTemplateTest {
+
+    @Test
+    public void testBinding() {
+
+        String query = "from hive_db where name = \"" + DSLQueryTemplate.getParameterMarker(0)
+                + "\" or description LIKE \"*" + DSLQueryTemplate.getParameterMarker(1) + "\"*";
+        DSLQueryTemplate template = DSLQueryTemplate.compile(query);
+        assertEquals(template.bind(Arrays.asList("default", "test")), "from hive_db where name = \"default\" or description LIKE \"*test\"*");
+        assertEquals(template.bind(Arrays.asList("other", "")), "from hive_db where name = \"other\" or description LIKE \"*\"*");
+
+    }
+
+    @Test
+    public void testNoParameters() {
+
+        String query = "from hive_db orderby __guid asc";
+        DSLQueryTemplate template = DSLQueryTemplate.compile(query);
+        assertEquals(template.bind(Collections.emptyList()), query);
+
+    }
+
+}
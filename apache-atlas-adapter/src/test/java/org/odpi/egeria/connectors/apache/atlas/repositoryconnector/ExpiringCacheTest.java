@@ -0,0 +1,83 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.apache.atlas.repositoryconnector;
+
+import org.odpi.egeria.connectors.apache.atlas.repositoryconnector.stores.ExpiringCache;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the in-memory cache handling.
+ */
+public class ExpiringCacheTest {
+
+    @Test
+    public void testHitsAndMisses() {
+
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, 60000);
+        assertTrue(cache.isEnabled());
+        assertNull(cache.get("one"));
+        cache.put("one", "1");
+        assertEquals(cache.get("one"), "1");
+        assertEquals(cache.getHitCount(), 1);
+        assertEquals(cache.getMissCount(), 1);
+
+    }
+
+    @Test
+    public void testBounds() {
+
+        ExpiringCache<String, String> cache = new ExpiringCache<>(2, 60000);
+        cache.put("one", "1");
+        cache.put("two", "2");
+        assertEquals(cache.get("one"), "1");
+        cache.put("three", "3");
+        assertEquals(cache.size(), 2);
+        assertNull(cache.get("two"));
+        assertEquals(cache.get("one"), "1");
+        assertEquals(cache.get("three"), "3");
+
+    }
+
+    @Test
+    public void testExpiry() throws InterruptedException {
+
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, 1);
+        cache.put("one", "1");
+        Thread.sleep(5);
+        assertNull(cache.get("one"));
+
+    }
+
+    @Test
+    public void testInvalidation() {
+
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, 60000);
+        cache.put("one", "1");
+        cache.put("two", "2");
+        cache.put("three", "3");
+        cache.remove("one");
+        assertNull(cache.get("one"));
+        cache.removeIf(key -> key.startsWith("t"));
+        assertEquals(cache.size(), 0);
+        cache.put("four", "4");
+        cache.put("five", "5");
+        cache.removeValuesIf(value -> value.equals("4"));
+        assertNull(cache.get("four"));
+        assertEquals(cache.get("five"), "5");
+
+    }
+
+    @Test
+    public void testDisabled() {
+
+        ExpiringCache<String, String> cache = new ExpiringCache<>(0, 60000);
+        assertFalse(cache.isEnabled());
+        cache.put("one", "1");
+        assertNull(cache.get("one"));
+        assertEquals(cache.getMissCount(), 0);
+
+    }
+
+}